@@ -0,0 +1,71 @@
+package com.restful_spring.rest_interceptor.loadtest;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Records raw latencies of a single client thread.
+ * <p> Not thread-safe. Each client thread owns one recorder, recorders are merged once the run is over.
+ *
+ * @author cookie-meringue
+ * @since 1.0.4
+ */
+final class LatencyRecorder {
+
+    private long[] values = new long[1 << 16];
+    private int size;
+    private long errors;
+
+    void record(final long nanos) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size << 1);
+        }
+        values[size++] = nanos;
+    }
+
+    void recordError() {
+        errors++;
+    }
+
+    /**
+     * Merge the recorders of all client threads into sorted latencies.
+     */
+    static Summary summarize(final List<LatencyRecorder> recorders, final double seconds) {
+        int total = recorders.stream().mapToInt(recorder -> recorder.size).sum();
+        long errors = recorders.stream().mapToLong(recorder -> recorder.errors).sum();
+        long[] merged = new long[total];
+        int offset = 0;
+        for (LatencyRecorder recorder : recorders) {
+            System.arraycopy(recorder.values, 0, merged, offset, recorder.size);
+            offset += recorder.size;
+        }
+        Arrays.sort(merged);
+        return new Summary(
+                total,
+                errors,
+                total / seconds,
+                percentile(merged, 0.50),
+                percentile(merged, 0.99),
+                percentile(merged, 0.999),
+                total == 0 ? 0 : toMicros(merged[total - 1])
+        );
+    }
+
+    private static double percentile(final long[] sorted, final double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return toMicros(sorted[Math.max(index, 0)]);
+    }
+
+    private static double toMicros(final long nanos) {
+        return nanos / 1_000.0;
+    }
+
+    /**
+     * Throughput in requests per second, latencies in microseconds.
+     */
+    record Summary(long requests, long errors, double throughput, double p50, double p99, double p999, double max) {
+    }
+}
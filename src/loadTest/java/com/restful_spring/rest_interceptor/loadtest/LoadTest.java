@@ -0,0 +1,87 @@
+package com.restful_spring.rest_interceptor.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * End-to-end load test of {@link com.restful_spring.rest_interceptor.RestInterceptor} inside the DispatcherServlet
+ * chain.
+ * <p> Starts an embedded Tomcat per scenario, drives loopback traffic and writes a JSON report comparing every
+ * scenario with a baseline without interceptors.
+ * <p> Run with {@code ./gradlew loadTest}. Configuration is read from system properties, which the Gradle task
+ * forwards from project properties of the same name:
+ * <ul>
+ *     <li>{@code loadTest.interceptors}: comma separated interceptor counts, default {@code 1,4,16}</li>
+ *     <li>{@code loadTest.patterns}: comma separated RestPattern counts per interceptor, default {@code 1,10,100}</li>
+ *     <li>{@code loadTest.threads}: client threads, default {@code 8}</li>
+ *     <li>{@code loadTest.warmupSeconds}: warmup per scenario, default {@code 5}</li>
+ *     <li>{@code loadTest.durationSeconds}: measurement per scenario, default {@code 10}</li>
+ *     <li>{@code loadTest.output}: report path, default {@code build/reports/loadTest/report.json}</li>
+ * </ul>
+ *
+ * @author cookie-meringue
+ * @since 1.0.4
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int[] interceptors = intList("loadTest.interceptors", "1,4,16");
+        int[] patterns = intList("loadTest.patterns", "1,10,100");
+        int threads = Integer.getInteger("loadTest.threads", 8);
+        long warmupSeconds = Long.getLong("loadTest.warmupSeconds", 5);
+        long durationSeconds = Long.getLong("loadTest.durationSeconds", 10);
+        Path output = Path.of(System.getProperty("loadTest.output", "build/reports/loadTest/report.json"));
+
+        LoadTestClient client = new LoadTestClient(threads, Duration.ofSeconds(warmupSeconds),
+                Duration.ofSeconds(durationSeconds));
+
+        Scenario baselineScenario = Scenario.baseline();
+        LatencyRecorder.Summary baseline = run(baselineScenario, client);
+
+        List<LoadTestReport.ScenarioReport> reports = new ArrayList<>();
+        reports.add(LoadTestReport.ScenarioReport.of(baselineScenario, baseline, baseline));
+        for (int interceptorCount : interceptors) {
+            for (int patternCount : patterns) {
+                Scenario scenario = Scenario.of(interceptorCount, patternCount);
+                reports.add(LoadTestReport.ScenarioReport.of(scenario, run(scenario, client), baseline));
+            }
+        }
+
+        LoadTestReport report = new LoadTestReport(
+                System.getProperty("loadTest.version", "unspecified"),
+                System.getProperty("java.version"),
+                Runtime.getRuntime().availableProcessors(),
+                threads,
+                warmupSeconds,
+                durationSeconds,
+                reports
+        );
+        report.writeTo(output);
+        System.out.println("Load test report written to " + output.toAbsolutePath());
+    }
+
+    private static LatencyRecorder.Summary run(final Scenario scenario, final LoadTestClient client) throws Exception {
+        try (LoadTestServer server = LoadTestServer.start(scenario)) {
+            LatencyRecorder.Summary summary = client.run(server.port());
+            System.out.printf("%s: %.0f req/s, p50 %.1fus, p99 %.1fus, p99.9 %.1fus, errors %d%n",
+                    scenario.name(), summary.throughput(), summary.p50(), summary.p99(), summary.p999(),
+                    summary.errors());
+            return summary;
+        }
+    }
+
+    private static int[] intList(final String property, final String defaultValue) {
+        return Arrays.stream(System.getProperty(property, defaultValue).split(","))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .mapToInt(Integer::parseInt)
+                .filter(value -> value > 0)
+                .toArray();
+    }
+}
@@ -0,0 +1,96 @@
+package com.restful_spring.rest_interceptor.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop, multi-threaded HTTP client driving loopback traffic against a {@link LoadTestServer}.
+ * <p> Every thread sends one request at a time and records its latency. Requests sent during the warmup are not
+ * recorded. Non-200 responses and I/O failures such as connection resets are counted as errors.
+ *
+ * @author cookie-meringue
+ * @since 1.0.4
+ */
+final class LoadTestClient {
+
+    private final int threads;
+    private final Duration warmup;
+    private final Duration duration;
+
+    LoadTestClient(final int threads, final Duration warmup, final Duration duration) {
+        this.threads = threads;
+        this.warmup = warmup;
+        this.duration = duration;
+    }
+
+    LatencyRecorder.Summary run(final int port) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            long startedAt = System.nanoTime();
+            long measureFrom = startedAt + warmup.toNanos();
+            long measureUntil = measureFrom + duration.toNanos();
+
+            List<Future<LatencyRecorder>> futures = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                int thread = i;
+                futures.add(executor.submit(() -> drive(client, port, thread, start, measureFrom, measureUntil)));
+            }
+            start.countDown();
+
+            List<LatencyRecorder> recorders = new ArrayList<>(threads);
+            for (Future<LatencyRecorder> future : futures) {
+                recorders.add(future.get());
+            }
+            return LatencyRecorder.summarize(recorders, duration.toNanos() / 1_000_000_000.0);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private LatencyRecorder drive(final HttpClient client, final int port, final int thread,
+                                  final CountDownLatch start, final long measureFrom, final long measureUntil)
+            throws Exception {
+        URI uri = URI.create("http://127.0.0.1:" + port + "/api/resources/" + thread);
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofSeconds(10))
+                .GET()
+                .build();
+        LatencyRecorder recorder = new LatencyRecorder();
+        start.await();
+
+        long now = System.nanoTime();
+        while (now < measureUntil) {
+            int status;
+            try {
+                status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException e) {
+                status = -1;
+            }
+            long end = System.nanoTime();
+            if (now >= measureFrom) {
+                if (status == 200) {
+                    recorder.record(end - now);
+                } else {
+                    recorder.recordError();
+                }
+            }
+            now = end;
+        }
+        return recorder;
+    }
+}
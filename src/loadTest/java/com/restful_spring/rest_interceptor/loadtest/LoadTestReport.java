@@ -0,0 +1,89 @@
+package com.restful_spring.rest_interceptor.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * JSON report of a load test run.
+ * <p> Contains no timestamps so that reports of two versions can be diffed directly.
+ * <p> Throughput is in requests per second, latencies are in microseconds.
+ *
+ * @author cookie-meringue
+ * @since 1.0.4
+ */
+record LoadTestReport(
+        String version,
+        String javaVersion,
+        int availableProcessors,
+        int threads,
+        long warmupSeconds,
+        long durationSeconds,
+        List<ScenarioReport> scenarios
+) {
+
+    void writeTo(final Path output) throws IOException {
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(output.toFile(), this);
+    }
+
+    record ScenarioReport(
+            String name,
+            int interceptors,
+            int patterns,
+            long requests,
+            long errors,
+            double throughput,
+            Latency latency,
+            Comparison baseline
+    ) {
+
+        static ScenarioReport of(final Scenario scenario, final LatencyRecorder.Summary summary,
+                                 final LatencyRecorder.Summary baseline) {
+            return new ScenarioReport(
+                    scenario.name(),
+                    scenario.interceptors(),
+                    scenario.patterns(),
+                    summary.requests(),
+                    summary.errors(),
+                    round(summary.throughput()),
+                    Latency.of(summary),
+                    Comparison.of(summary, baseline)
+            );
+        }
+    }
+
+    record Latency(double p50, double p99, double p999, double max) {
+
+        static Latency of(final LatencyRecorder.Summary summary) {
+            return new Latency(round(summary.p50()), round(summary.p99()), round(summary.p999()), round(summary.max()));
+        }
+    }
+
+    /**
+     * Ratio of throughput and latency differences against the baseline without interceptors.
+     */
+    record Comparison(double throughputRatio, double p50Delta, double p99Delta, double p999Delta) {
+
+        static Comparison of(final LatencyRecorder.Summary summary, final LatencyRecorder.Summary baseline) {
+            double throughputRatio = baseline.throughput() == 0 ? 0 : summary.throughput() / baseline.throughput();
+            return new Comparison(
+                    round(throughputRatio),
+                    round(summary.p50() - baseline.p50()),
+                    round(summary.p99() - baseline.p99()),
+                    round(summary.p999() - baseline.p999())
+            );
+        }
+    }
+
+    private static double round(final double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,86 @@
+package com.restful_spring.rest_interceptor.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.apache.catalina.Context;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.startup.Tomcat;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+
+/**
+ * Embedded Tomcat running a {@link DispatcherServlet} configured for a single {@link Scenario}.
+ * <p> Listens on an ephemeral loopback port. The Spring application context and the temporary base directory are
+ * released on close, so no scenario leaks into the measurement of the next one.
+ *
+ * @author cookie-meringue
+ * @since 1.0.4
+ */
+final class LoadTestServer implements AutoCloseable {
+
+    private final Tomcat tomcat;
+    private final AnnotationConfigWebApplicationContext applicationContext;
+    private final Path baseDir;
+
+    private LoadTestServer(final Tomcat tomcat, final AnnotationConfigWebApplicationContext applicationContext,
+                           final Path baseDir) {
+        this.tomcat = tomcat;
+        this.applicationContext = applicationContext;
+        this.baseDir = baseDir;
+    }
+
+    static LoadTestServer start(final Scenario scenario) throws IOException, LifecycleException {
+        AnnotationConfigWebApplicationContext applicationContext = new AnnotationConfigWebApplicationContext();
+        applicationContext.addBeanFactoryPostProcessor(
+                beanFactory -> beanFactory.registerSingleton("scenario", scenario));
+        applicationContext.register(LoadTestWebConfig.class, ResourceController.class);
+
+        Path baseDir = Files.createTempDirectory("rest-interceptor-load-test");
+        Tomcat tomcat = new Tomcat();
+        tomcat.setBaseDir(baseDir.toString());
+        tomcat.setHostname("127.0.0.1");
+        tomcat.setPort(0);
+        tomcat.getConnector().setProperty("address", "127.0.0.1");
+
+        Context context = tomcat.addContext("", baseDir.toString());
+        Tomcat.addServlet(context, "dispatcher", new DispatcherServlet(applicationContext)).setLoadOnStartup(1);
+        context.addServletMappingDecoded("/", "dispatcher");
+
+        LoadTestServer server = new LoadTestServer(tomcat, applicationContext, baseDir);
+        try {
+            tomcat.start();
+        } catch (LifecycleException | RuntimeException e) {
+            try {
+                server.close();
+            } catch (LifecycleException | IOException | RuntimeException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+        return server;
+    }
+
+    int port() {
+        return tomcat.getConnector().getLocalPort();
+    }
+
+    /**
+     * Stop Tomcat, close the Spring application context and delete the temporary base directory.
+     * <p> The DispatcherServlet does not close an application context it was given, so it is closed here.
+     */
+    @Override
+    public void close() throws LifecycleException, IOException {
+        try {
+            tomcat.stop();
+            tomcat.destroy();
+        } finally {
+            try {
+                applicationContext.close();
+            } finally {
+                FileSystemUtils.deleteRecursively(baseDir);
+            }
+        }
+    }
+}
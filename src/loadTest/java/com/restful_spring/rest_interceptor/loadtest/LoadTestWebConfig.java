@@ -0,0 +1,57 @@
+package com.restful_spring.rest_interceptor.loadtest;
+
+import com.restful_spring.rest_interceptor.RestInterceptor;
+import com.restful_spring.rest_interceptor.RestInterceptorRegistry;
+import com.restful_spring.rest_interceptor.RestPattern;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Spring MVC configuration of the load test server.
+ * <p> Registers the interceptors and RestPatterns described by the current {@link Scenario} through
+ * {@link RestInterceptorRegistry}, exactly as an application would.
+ *
+ * @author cookie-meringue
+ * @since 1.0.4
+ */
+@Configuration
+@EnableWebMvc
+class LoadTestWebConfig implements WebMvcConfigurer {
+
+    static final String TARGET_PATH = "/api/resources/{id}";
+
+    private final Scenario scenario;
+
+    LoadTestWebConfig(final Scenario scenario) {
+        this.scenario = scenario;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        RestInterceptorRegistry restInterceptorRegistry = new RestInterceptorRegistry(registry);
+        for (int i = 0; i < scenario.interceptors(); i++) {
+            restInterceptorRegistry.addInterceptor(new NoOpRestInterceptor())
+                    .addRestPatterns(patterns(i));
+        }
+    }
+
+    /**
+     * Non-matching patterns first, the matching one last.
+     */
+    private List<RestPattern> patterns(final int interceptor) {
+        List<RestPattern> patterns = new ArrayList<>(scenario.patterns());
+        for (int i = 0; i < scenario.patterns() - 1; i++) {
+            patterns.add(RestPattern.of("/api/i" + interceptor + "/p" + i + "/**", HttpMethod.GET));
+        }
+        patterns.add(RestPattern.of(TARGET_PATH, HttpMethod.GET));
+        return patterns;
+    }
+
+    static class NoOpRestInterceptor extends RestInterceptor {
+    }
+}
@@ -0,0 +1,20 @@
+package com.restful_spring.rest_interceptor.loadtest;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Minimal handler so that measured latency is dominated by the DispatcherServlet and interceptor chain.
+ *
+ * @author cookie-meringue
+ * @since 1.0.4
+ */
+@RestController
+class ResourceController {
+
+    @GetMapping(LoadTestWebConfig.TARGET_PATH)
+    String get(@PathVariable("id") String id) {
+        return id;
+    }
+}
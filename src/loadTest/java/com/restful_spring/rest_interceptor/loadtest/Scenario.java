@@ -0,0 +1,21 @@
+package com.restful_spring.rest_interceptor.loadtest;
+
+/**
+ * A single load test configuration.
+ * <p> Every interceptor is registered with {@code patterns} RestPatterns, of which only the last one matches the
+ * traffic, so each request pays for a full scan of the pattern list before reaching {@code doInternal}.
+ * <p> A scenario with zero interceptors is the baseline.
+ *
+ * @author cookie-meringue
+ * @since 1.0.4
+ */
+record Scenario(String name, int interceptors, int patterns) {
+
+    static Scenario baseline() {
+        return new Scenario("baseline", 0, 0);
+    }
+
+    static Scenario of(final int interceptors, final int patterns) {
+        return new Scenario("interceptors-" + interceptors + "-patterns-" + patterns, interceptors, patterns);
+    }
+}
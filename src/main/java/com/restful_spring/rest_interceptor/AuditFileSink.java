@@ -0,0 +1,204 @@
+package com.restful_spring.rest_interceptor;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Consumer;
+
+/**
+ * Rotating, memory-mapped file sink of audit lines.
+ * <p> Each file is mapped in fixed windows of at most {@value #WINDOW_SIZE} bytes and lines are copied straight into
+ * the current window, so writing a batch is a memory copy without system calls. When a window is full, it is unmapped
+ * and the next one is mapped. When a line does not fit in the file, the file is rotated.
+ * <p> A window is unmapped explicitly before the file is truncated to its written size, so no mapping is kept alive
+ * until garbage collection and truncation also works on platforms which refuse to truncate mapped files, such as
+ * Windows. If the JVM does not allow explicit unmapping, windows are released by the garbage collector instead, and
+ * truncation on such platforms may fail; the written lines are kept either way.
+ * <p> Only the most recent {@code maxFiles} files written by this sink are kept.
+ * <p> Not thread-safe. Only used by the single audit writer thread.
+ *
+ * @author cookie-meringue
+ * @since 1.0.4
+ */
+final class AuditFileSink implements Closeable {
+
+    private static final int WINDOW_SIZE = 4 * 1024 * 1024;
+    private static final int INITIAL_LINE_SIZE = 256;
+    private static final Consumer<MappedByteBuffer> UNMAPPER = unmapper();
+
+    private final Path directory;
+    private final String prefix;
+    private final int maxFileSize;
+    private final int maxFiles;
+    private final Deque<Path> files = new ArrayDeque<>();
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    private ByteBuffer lineBytes;
+    private FileChannel channel;
+    private MappedByteBuffer mapped;
+    private long windowStart;
+    private long sequence;
+
+    AuditFileSink(final Path directory, final String prefix, final int maxFileSize, final int maxFiles)
+            throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.prefix = prefix;
+        this.maxFileSize = maxFileSize;
+        this.maxFiles = maxFiles;
+        this.lineBytes = ByteBuffer.allocate(Math.min(maxFileSize, INITIAL_LINE_SIZE));
+    }
+
+    /**
+     * Write a line, rotating the file if it does not fit.
+     * <p> A line longer than {@code maxFileSize} is truncated. If this method throws, the line was not completely
+     * written.
+     */
+    void write(final CharSequence line) throws IOException {
+        ByteBuffer bytes = encode(line);
+        if (mapped == null) {
+            closeCurrent();
+            open();
+        } else if (fileSize() + bytes.remaining() > maxFileSize) {
+            rotate();
+        }
+        while (bytes.remaining() > mapped.remaining()) {
+            int limit = bytes.limit();
+            bytes.limit(bytes.position() + mapped.remaining());
+            mapped.put(bytes);
+            bytes.limit(limit);
+            nextWindow();
+        }
+        mapped.put(bytes);
+    }
+
+    /**
+     * Encode a line, growing the line buffer up to {@code maxFileSize}.
+     *
+     * @return the encoded bytes, ready to be read
+     */
+    private ByteBuffer encode(final CharSequence line) {
+        CharBuffer chars = CharBuffer.wrap(line);
+        lineBytes.clear();
+        encoder.reset();
+        CoderResult result = encoder.encode(chars, lineBytes, true);
+        while (result.isOverflow() && lineBytes.capacity() < maxFileSize) {
+            ByteBuffer grown = ByteBuffer.allocate((int) Math.min((long) lineBytes.capacity() * 2, maxFileSize));
+            lineBytes.flip();
+            lineBytes = grown.put(lineBytes);
+            result = encoder.encode(chars, lineBytes, true);
+        }
+        return lineBytes.flip();
+    }
+
+    /**
+     * Flush written lines of the current window to the storage device.
+     */
+    void force() {
+        if (mapped != null) {
+            mapped.force();
+        }
+    }
+
+    private long fileSize() {
+        return windowStart + mapped.position();
+    }
+
+    private void open() throws IOException {
+        Path file = directory.resolve(prefix + "-" + System.currentTimeMillis() + "-" + sequence++ + ".log");
+        channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        files.addLast(file);
+        while (files.size() > maxFiles) {
+            Files.deleteIfExists(files.removeFirst());
+        }
+        windowStart = 0;
+        map();
+    }
+
+    private void map() throws IOException {
+        long size = Math.min(WINDOW_SIZE, maxFileSize - windowStart);
+        mapped = channel.map(FileChannel.MapMode.READ_WRITE, windowStart, size);
+    }
+
+    private void nextWindow() throws IOException {
+        MappedByteBuffer full = mapped;
+        windowStart += full.capacity();
+        mapped = null;
+        full.force();
+        UNMAPPER.accept(full);
+        map();
+    }
+
+    private void rotate() throws IOException {
+        closeCurrent();
+        open();
+    }
+
+    /**
+     * Unmap the current window, then truncate the file to its written size.
+     */
+    private void closeCurrent() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        try {
+            if (mapped != null) {
+                long size = fileSize();
+                MappedByteBuffer window = mapped;
+                mapped = null;
+                window.force();
+                UNMAPPER.accept(window);
+                channel.truncate(size);
+            }
+        } finally {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closeCurrent();
+    }
+
+    /**
+     * Resolve {@code sun.misc.Unsafe#invokeCleaner}, which unmaps a mapped buffer immediately.
+     *
+     * @return the unmapping function, or a no-op leaving the buffer to the garbage collector if it is not available
+     */
+    private static Consumer<MappedByteBuffer> unmapper() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            Object unsafe = field.get(null);
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            return buffer -> {
+                try {
+                    invokeCleaner.invoke(unsafe, buffer);
+                } catch (ReflectiveOperationException e) {
+                    // Left to the garbage collector
+                }
+            };
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return buffer -> {
+            };
+        }
+    }
+}
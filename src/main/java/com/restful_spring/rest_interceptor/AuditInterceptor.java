@@ -0,0 +1,307 @@
+package com.restful_spring.rest_interceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * {@link RestInterceptor} writing an audit log of matched requests without blocking request threads on I/O.
+ * <p> A compact record (time, method, path, matched pattern, status and duration) is captured in
+ * {@code afterCompletion} and offered to a lock-free ring buffer. A single background writer drains the buffer in
+ * batches into rotating memory-mapped files.
+ * <p> When the buffer is full, the record is dropped by default. With {@link AuditInterceptorBuilder#blockOnOverflow}
+ * the request thread waits up to the given timeout for free space before dropping. Dropped records are counted in
+ * {@link #getDroppedCount()}.
+ * <p> Files are named {@code <prefix>-<epoch millis>-<sequence>.log} and hold one tab separated line per request:
+ * epoch milliseconds, method, path, pattern, status and duration in microseconds.
+ * <p> Close the interceptor on shutdown to flush the buffer; Spring does so automatically for a bean definition
+ * returning it. Records offered while closing are still written, records offered after closing are dropped.
+ *
+ * @author cookie-meringue
+ * @since 1.0.4
+ */
+public final class AuditInterceptor extends RestInterceptor implements AutoCloseable {
+
+    private static final Log logger = LogFactory.getLog(AuditInterceptor.class);
+
+    private static final String START_ATTRIBUTE = AuditInterceptor.class.getName() + ".START";
+    private static final long IDLE_PARK_NANOS = 1_000_000L;
+    private static final long BLOCK_PARK_NANOS = 10_000L;
+
+    private final AuditRingBuffer buffer;
+    private final AuditFileSink sink;
+    private final int batchSize;
+    private final long blockTimeoutNanos;
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder producers = new LongAdder();
+    private final Thread writer;
+    private volatile long written;
+    private volatile boolean running = true;
+
+    private AuditInterceptor(final AuditRingBuffer buffer, final AuditFileSink sink, final int batchSize,
+                             final long blockTimeoutNanos) {
+        this.buffer = buffer;
+        this.sink = sink;
+        this.batchSize = batchSize;
+        this.blockTimeoutNanos = blockTimeoutNanos;
+        this.writer = new Thread(this::writeLoop, "rest-interceptor-audit-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public static AuditInterceptorBuilder builder() {
+        return new AuditInterceptorBuilder();
+    }
+
+    @Override
+    protected boolean doInternal(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                 RestMatch match) {
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    protected void doAfterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                     Exception ex) {
+        long duration = request.getAttribute(START_ATTRIBUTE) instanceof Long start ? System.nanoTime() - start : 0;
+        record(new AuditRecord(
+                System.currentTimeMillis(),
+                request.getMethod(),
+                request.getRequestURI(),
+                getMatchedPattern(request).getPath(),
+                response.getStatus(),
+                duration
+        ));
+    }
+
+    /**
+     * Offer a record to the writer.
+     * <p> Producers announce themselves before checking {@code running}, so the writer, which checks for announced
+     * producers after {@code running} was cleared, only stops once every accepted record is in the buffer.
+     */
+    void record(final AuditRecord record) {
+        producers.increment();
+        try {
+            offer(record);
+        } finally {
+            producers.decrement();
+        }
+    }
+
+    private void offer(final AuditRecord record) {
+        if (!running) {
+            dropped.increment();
+            return;
+        }
+        if (buffer.offer(record)) {
+            return;
+        }
+        if (blockTimeoutNanos > 0) {
+            long deadline = System.nanoTime() + blockTimeoutNanos;
+            while (System.nanoTime() < deadline) {
+                LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                if (buffer.offer(record)) {
+                    return;
+                }
+            }
+        }
+        dropped.increment();
+    }
+
+    private void writeLoop() {
+        StringBuilder line = new StringBuilder(256);
+        boolean dirty = false;
+        while (true) {
+            boolean stopping = !running && producers.sum() == 0;
+            int count = drain(line);
+            if (count > 0) {
+                dirty = true;
+                continue;
+            }
+            if (stopping) {
+                break;
+            }
+            if (dirty) {
+                force();
+                dirty = false;
+            }
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+        try {
+            sink.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close audit log file", e);
+        }
+    }
+
+    private void force() {
+        try {
+            sink.force();
+        } catch (UncheckedIOException e) {
+            logger.warn("Failed to flush audit log file", e);
+        }
+    }
+
+    /**
+     * Write up to {@code batchSize} records.
+     *
+     * @return the number of records taken from the buffer
+     */
+    private int drain(final StringBuilder line) {
+        int count = 0;
+        int failed = 0;
+        IOException failure = null;
+        AuditRecord record;
+        while (count < batchSize && (record = buffer.poll()) != null) {
+            count++;
+            line.setLength(0);
+            record.appendTo(line);
+            try {
+                sink.write(line);
+            } catch (IOException e) {
+                failed++;
+                failure = e;
+            }
+        }
+        written += count - failed;
+        if (failure != null) {
+            dropped.add(failed);
+            logger.warn("Failed to write " + failed + " audit records", failure);
+        }
+        return count;
+    }
+
+    /**
+     * Number of records dropped because the buffer was full, writing failed or the interceptor was closed.
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Number of records written to the audit log files.
+     * <p> A record is counted once the sink accepted all its bytes into the mapped file, which the operating system
+     * writes back even if the process exits. Records the sink failed to write are counted as dropped instead.
+     */
+    public long getWrittenCount() {
+        return written;
+    }
+
+    /**
+     * Stop accepting records, write the buffered ones and close the current file.
+     * <p> If the calling thread is interrupted while waiting, this method returns early with the interrupt flag set,
+     * and the writer finishes in the background.
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Builder for {@link AuditInterceptor}.
+     */
+    public static class AuditInterceptorBuilder {
+
+        private Path directory = Path.of("audit");
+        private String filePrefix = "audit";
+        private int capacity = 8192;
+        private int batchSize = 256;
+        private int maxFileSize = 64 * 1024 * 1024;
+        private int maxFiles = 10;
+        private Duration blockTimeout = Duration.ZERO;
+
+        public AuditInterceptorBuilder() {
+        }
+
+        /**
+         * Directory of the audit log files. Default is {@code audit}.
+         */
+        public AuditInterceptorBuilder directory(Path directory) {
+            this.directory = directory;
+            return this;
+        }
+
+        /**
+         * File name prefix of the audit log files. Default is {@code audit}.
+         */
+        public AuditInterceptorBuilder filePrefix(String filePrefix) {
+            this.filePrefix = filePrefix;
+            return this;
+        }
+
+        /**
+         * Ring buffer capacity, rounded up to a power of two. Default is 8192.
+         */
+        public AuditInterceptorBuilder capacity(int capacity) {
+            this.capacity = capacity;
+            return this;
+        }
+
+        /**
+         * Maximum number of records written per batch. Default is 256.
+         */
+        public AuditInterceptorBuilder batchSize(int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Size in bytes at which a file is rotated. Default is 64 MiB.
+         */
+        public AuditInterceptorBuilder maxFileSize(int maxFileSize) {
+            this.maxFileSize = maxFileSize;
+            return this;
+        }
+
+        /**
+         * Number of most recent files to keep. Default is 10.
+         */
+        public AuditInterceptorBuilder maxFiles(int maxFiles) {
+            this.maxFiles = maxFiles;
+            return this;
+        }
+
+        /**
+         * Drop records when the buffer is full. This is the default.
+         */
+        public AuditInterceptorBuilder dropOnOverflow() {
+            this.blockTimeout = Duration.ZERO;
+            return this;
+        }
+
+        /**
+         * Wait up to the given timeout for free space when the buffer is full, then drop the record.
+         */
+        public AuditInterceptorBuilder blockOnOverflow(Duration timeout) {
+            this.blockTimeout = timeout;
+            return this;
+        }
+
+        public AuditInterceptor build() {
+            if (batchSize < 1 || maxFileSize < 1 || maxFiles < 1 || blockTimeout.isNegative()) {
+                throw new IllegalArgumentException("batchSize, maxFileSize and maxFiles must be positive, "
+                        + "blockTimeout must not be negative");
+            }
+            AuditRingBuffer buffer = new AuditRingBuffer(capacity);
+            try {
+                AuditFileSink sink = new AuditFileSink(directory, filePrefix, maxFileSize, maxFiles);
+                return new AuditInterceptor(buffer, sink, batchSize, blockTimeout.toNanos());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to create audit log directory " + directory, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.restful_spring.rest_interceptor;
+
+/**
+ * Compact record of a single audited request.
+ *
+ * @author cookie-meringue
+ * @since 1.0.4
+ */
+record AuditRecord(long timestamp, String method, String path, String pattern, int status, long durationNanos) {
+
+    /**
+     * Append this record as a single tab separated line.
+     * <p> Columns are epoch milliseconds, HTTP method, request path, matched pattern path, status and duration in
+     * microseconds.
+     */
+    void appendTo(final StringBuilder line) {
+        line.append(timestamp).append('\t')
+                .append(method).append('\t')
+                .append(path).append('\t')
+                .append(pattern).append('\t')
+                .append(status).append('\t')
+                .append(durationNanos / 1_000).append('\n');
+    }
+}
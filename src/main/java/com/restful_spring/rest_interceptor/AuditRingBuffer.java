@@ -0,0 +1,84 @@
+package com.restful_spring.rest_interceptor;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded, lock-free, multi-producer single-consumer ring buffer of {@link AuditRecord}s.
+ * <p> Every slot carries a sequence number. A producer claims a slot by advancing the shared tail with CAS, stores
+ * the record and publishes it by advancing the slot sequence. The single consumer reads published slots in order and
+ * releases them for the next lap. Producers never wait for each other and never take a lock.
+ *
+ * @author cookie-meringue
+ * @since 1.0.4
+ */
+final class AuditRingBuffer {
+
+    private final AuditRecord[] records;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private long head;
+
+    /**
+     * @param capacity rounded up to the next power of two
+     */
+    AuditRingBuffer(final int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+        this.records = new AuditRecord[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Add a record. Safe to call from any thread.
+     *
+     * @return {@code false} if the buffer is full
+     */
+    boolean offer(final AuditRecord record) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    records[index] = record;
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Remove the oldest record. Must only be called from the single consumer thread.
+     *
+     * @return the oldest record, or {@code null} if the buffer is empty
+     */
+    AuditRecord poll() {
+        int index = (int) (head & mask);
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+        AuditRecord record = records[index];
+        records[index] = null;
+        sequences.set(index, head + mask + 1);
+        head++;
+        return record;
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,229 @@
+package com.restful_spring.rest_interceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.ToLongFunction;
+
+/**
+ * {@link RestInterceptor} shedding requests which already spent their latency budget waiting in the queue.
+ * <p> Each {@link RestPattern} declares a latency budget. The time a request arrived is read from an arrival header
+ * such as {@code X-Request-Start}, or from a container timestamp. A request reaching {@code preHandle} after
+ * {@code arrival + budget} is rejected with {@code 503 Service Unavailable} without invoking the handler.
+ * <p> For accepted requests the deadline is published as an {@link Instant} in the {@link #DEADLINE_ATTRIBUTE}
+ * request attribute, so downstream code can bound its own work with {@link #remaining(HttpServletRequest)}.
+ * <p> Requests without a known arrival time, or not matching any budgeted pattern, are always passed.
+ * <p> Arrival headers are set by another host, so clock skew or a misconfigured proxy can make every request look
+ * late. Arrival times older than {@value #STALE_ARRIVAL_FACTOR} times the budget are considered implausible and
+ * ignored like a missing header, instead of shedding all traffic.
+ * <p> Budgets only apply to requests the interceptor is registered for, so register it with its budgeted patterns:
+ * <pre>
+ * DeadlineInterceptor deadlineInterceptor = new DeadlineInterceptor()
+ *         .budget(RestPattern.of("/memos", HttpMethod.GET), Duration.ofMillis(500));
+ * restInterceptorRegistry.addInterceptor(deadlineInterceptor)
+ *         .addRestPatterns(deadlineInterceptor.getBudgetedPatterns());
+ * </pre>
+ *
+ * @author cookie-meringue
+ * @since 1.0.4
+ */
+public final class DeadlineInterceptor extends RestInterceptor {
+
+    /**
+     * Request attribute holding the {@link Instant} deadline of an accepted request.
+     */
+    public static final String DEADLINE_ATTRIBUTE = DeadlineInterceptor.class.getName() + ".DEADLINE";
+
+    /**
+     * Default arrival header, as set by Heroku router, nginx or HAProxy.
+     */
+    public static final String REQUEST_START_HEADER = "X-Request-Start";
+
+    /**
+     * Multiple of the budget beyond which an arrival time is considered implausible and ignored.
+     */
+    public static final int STALE_ARRIVAL_FACTOR = 10;
+
+    private static final String CLOCK_ATTRIBUTE = DeadlineInterceptor.class.getName() + ".CLOCK";
+    private static final long UNKNOWN = -1L;
+
+    private final Map<RestPattern, Long> budgets = new LinkedHashMap<>();
+    private final ToLongFunction<HttpServletRequest> arrivalTime;
+    private final Clock clock;
+
+    /**
+     * Create a new instance reading the arrival time from the {@code X-Request-Start} header.
+     */
+    public DeadlineInterceptor() {
+        this(REQUEST_START_HEADER);
+    }
+
+    /**
+     * Create a new instance reading the arrival time from the given header.
+     * <p> Accepted values are epoch seconds, milliseconds, microseconds or nanoseconds, optionally prefixed with
+     * {@code t=} and with a fractional part for seconds, e.g. {@code t=1700000000123} or {@code 1700000000.123}.
+     */
+    public DeadlineInterceptor(final String header) {
+        this(request -> parseArrivalTime(request.getHeader(header)));
+    }
+
+    /**
+     * Create a new instance with a custom arrival time source, e.g. a timestamp recorded by the container.
+     *
+     * @param arrivalTime returns the arrival time in epoch milliseconds, or a negative value when unknown
+     */
+    public DeadlineInterceptor(final ToLongFunction<HttpServletRequest> arrivalTime) {
+        this(arrivalTime, Clock.systemUTC());
+    }
+
+    DeadlineInterceptor(final ToLongFunction<HttpServletRequest> arrivalTime, final Clock clock) {
+        this.arrivalTime = Objects.requireNonNull(arrivalTime);
+        this.clock = Objects.requireNonNull(clock);
+    }
+
+    /**
+     * Declare the latency budget of the given RestPattern.
+     * <p> The budget of the RestPattern matched in {@code preHandle} applies, found with a single hash lookup. If that
+     * pattern has no budget, e.g. because a broader pattern was registered first, every budgeted pattern is matched
+     * against the request again to find one. Register the interceptor with {@link #getBudgetedPatterns()} only, before
+     * any broader pattern, to stay on the single lookup.
+     * When several budgeted patterns match a request, the budget declared first wins. Budgets are rounded up to whole
+     * milliseconds.
+     *
+     * @return this DeadlineInterceptor instance for method chaining
+     */
+    public DeadlineInterceptor budget(final RestPattern restPattern, final Duration budget) {
+        if (budget.isNegative()) {
+            throw new IllegalArgumentException("Budget must not be negative: " + budget);
+        }
+        budgets.put(Objects.requireNonNull(restPattern), ceilMillis(budget));
+        return this;
+    }
+
+    /**
+     * Get the RestPatterns a budget was declared for, in declaration order.
+     */
+    public List<RestPattern> getBudgetedPatterns() {
+        return List.copyOf(budgets.keySet());
+    }
+
+    /**
+     * Time left until the deadline of the given request, if it has one.
+     * <p> Measured with the clock of the interceptor which accepted the request, stored next to the deadline. Never
+     * negative.
+     */
+    public static Optional<Duration> remaining(final HttpServletRequest request) {
+        if (!(request.getAttribute(DEADLINE_ATTRIBUTE) instanceof Instant deadline)) {
+            return Optional.empty();
+        }
+        Clock clock = request.getAttribute(CLOCK_ATTRIBUTE) instanceof Clock stored ? stored : Clock.systemUTC();
+        Duration remaining = Duration.between(clock.instant(), deadline);
+        return Optional.of(remaining.isNegative() ? Duration.ZERO : remaining);
+    }
+
+    @Override
+    protected boolean doInternal(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                 RestMatch match) {
+        Long budget = findBudget(request, match.getPattern());
+        if (budget == null) {
+            return true;
+        }
+        long arrival = arrivalTime.applyAsLong(request);
+        if (arrival < 0) {
+            return true;
+        }
+
+        long now = clock.millis();
+        if (now - arrival > staleAfter(budget)) {
+            return true;
+        }
+        long deadline = arrival + budget;
+        if (now >= deadline) {
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return false;
+        }
+        request.setAttribute(DEADLINE_ATTRIBUTE, Instant.ofEpochMilli(deadline));
+        request.setAttribute(CLOCK_ATTRIBUTE, clock);
+        return true;
+    }
+
+    /**
+     * Find the budget of the matched RestPattern, or else of the first budgeted pattern matching the request.
+     * <p> The fallback is a full scan of the budgeted patterns, paid on every request whose matched pattern has no
+     * budget.
+     */
+    private Long findBudget(final HttpServletRequest request, final RestPattern matched) {
+        Long budget = budgets.get(matched);
+        if (budget != null) {
+            return budget;
+        }
+        for (Map.Entry<RestPattern, Long> entry : budgets.entrySet()) {
+            if (entry.getKey().matches(request)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Age in milliseconds beyond which an arrival time is ignored, saturating instead of overflowing.
+     */
+    private static long staleAfter(final long budget) {
+        return budget > Long.MAX_VALUE / STALE_ARRIVAL_FACTOR ? Long.MAX_VALUE : budget * STALE_ARRIVAL_FACTOR;
+    }
+
+    /**
+     * Convert a budget to milliseconds, rounding up so sub-millisecond budgets do not become zero.
+     */
+    private static long ceilMillis(final Duration budget) {
+        long millis = budget.toMillis();
+        return budget.minusMillis(millis).isZero() ? millis : millis + 1;
+    }
+
+    /**
+     * Parse an arrival header value into epoch milliseconds.
+     * <p> The unit of an integral value is inferred from its magnitude.
+     *
+     * @return epoch milliseconds, or a negative value if the header is missing or malformed
+     */
+    static long parseArrivalTime(final String header) {
+        if (header == null) {
+            return UNKNOWN;
+        }
+        String value = header.trim();
+        if (value.startsWith("t=")) {
+            value = value.substring(2);
+        }
+        try {
+            long millis = value.indexOf('.') >= 0 ? parseSeconds(value) : toMillis(Long.parseLong(value));
+            return millis > 0 ? millis : UNKNOWN;
+        } catch (NumberFormatException e) {
+            return UNKNOWN;
+        }
+    }
+
+    private static long parseSeconds(final String value) {
+        double seconds = Double.parseDouble(value);
+        return Double.isFinite(seconds) ? Math.round(seconds * 1_000) : UNKNOWN;
+    }
+
+    private static long toMillis(final long time) {
+        if (time >= 100_000_000_000_000_000L) {
+            return time / 1_000_000;
+        }
+        if (time >= 100_000_000_000_000L) {
+            return time / 1_000;
+        }
+        if (time >= 100_000_000_000L) {
+            return time;
+        }
+        return time * 1_000;
+    }
+}
@@ -0,0 +1,266 @@
+package com.restful_spring.rest_interceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+/**
+ * Memoizes {@code doInternal} outcomes of a {@link RestInterceptor}, keyed by a credential extracted from the request
+ * and the matched {@link RestPattern}.
+ * <p> Positive outcomes are kept for {@code ttl}. Negative outcomes are not cached by default. With a positive
+ * {@code negativeTtl} they are kept as well, but when served from the cache {@code doInternal} is not invoked and only
+ * the response status it set is applied again: headers such as {@code WWW-Authenticate} and bodies written with
+ * {@code sendError} are not replayed.
+ * <p> Loading is single-flight: concurrent requests with the same key wait for the one evaluation in progress and
+ * share its outcome instead of evaluating again. If negative outcomes are not cached and the shared outcome is
+ * negative, waiting requests evaluate {@code doInternal} themselves, so each of them gets its own full response. If that evaluation throws, waiting requests receive the same
+ * exception and nothing is cached.
+ * <p> The cache holds at most {@code maximumSize} entries. When it grows beyond, expired entries are removed first,
+ * then arbitrary completed ones, until it is back to 90% of {@code maximumSize}, so the scan is amortized over many
+ * insertions. Entries still loading are never evicted.
+ * <p> Only use it for interceptors whose outcome depends on the extracted credential and the pattern alone, such as
+ * token validation, since cached requests skip {@code doInternal} entirely. Attach it to a registration with
+ * {@link RestInterceptorRegistration#cacheDecisions(DecisionCache)}.
+ *
+ * @author cookie-meringue
+ * @since 1.0.4
+ */
+public final class DecisionCache {
+
+    private final Function<HttpServletRequest, String> keyExtractor;
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+    private final int maximumSize;
+    private final int evictionTarget;
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private DecisionCache(final Function<HttpServletRequest, String> keyExtractor, final long ttlNanos,
+                          final long negativeTtlNanos, final int maximumSize) {
+        this.keyExtractor = keyExtractor;
+        this.ttlNanos = ttlNanos;
+        this.negativeTtlNanos = negativeTtlNanos;
+        this.maximumSize = maximumSize;
+        this.evictionTarget = maximumSize - Math.max(1, maximumSize / 10);
+    }
+
+    public static DecisionCacheBuilder builder() {
+        return new DecisionCacheBuilder();
+    }
+
+    /**
+     * Get the cached outcome for the request, or evaluate it with the given loader.
+     * <p> Requests for which the key extractor returns {@code null} are always evaluated and never cached.
+     */
+    boolean decide(final HttpServletRequest request, final HttpServletResponse response, final RestPattern pattern,
+                   final BooleanSupplier loader) {
+        String credential = keyExtractor.apply(request);
+        if (credential == null) {
+            return loader.getAsBoolean();
+        }
+        Key key = new Key(credential, pattern);
+        while (true) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                entry = new Entry();
+                Entry raced = entries.putIfAbsent(key, entry);
+                if (raced == null) {
+                    return load(key, entry, response, loader);
+                }
+                entry = raced;
+            }
+            boolean inFlight = !entry.future.isDone();
+            Decision decision = entry.await();
+            if (!decision.allowed() && negativeTtlNanos == 0) {
+                misses.increment();
+                return loader.getAsBoolean();
+            }
+            if (inFlight || !decision.isExpired(System.nanoTime())) {
+                hits.increment();
+                if (!decision.allowed()) {
+                    response.setStatus(decision.status());
+                }
+                return decision.allowed();
+            }
+            entries.remove(key, entry);
+        }
+    }
+
+    private boolean load(final Key key, final Entry entry, final HttpServletResponse response,
+                         final BooleanSupplier loader) {
+        misses.increment();
+        boolean allowed;
+        try {
+            allowed = loader.getAsBoolean();
+        } catch (RuntimeException | Error e) {
+            entries.remove(key, entry);
+            entry.future.completeExceptionally(e);
+            throw e;
+        }
+
+        long ttl = allowed ? ttlNanos : negativeTtlNanos;
+        entry.future.complete(new Decision(allowed, response.getStatus(), System.nanoTime() + ttl));
+        if (ttl <= 0) {
+            entries.remove(key, entry);
+        } else if (entries.size() > maximumSize) {
+            evict();
+        }
+        return allowed;
+    }
+
+    /**
+     * Remove expired entries, then arbitrary completed ones, until the cache is back to its eviction target.
+     * <p> Only one thread evicts at a time; others skip eviction.
+     */
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long now = System.nanoTime();
+            entries.values().removeIf(entry -> entry.isExpired(now));
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (entries.size() > evictionTarget && iterator.hasNext()) {
+                if (iterator.next().future.isDone()) {
+                    iterator.remove();
+                }
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    /**
+     * Remove all cached outcomes, e.g. after credentials were revoked.
+     */
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+     * Number of outcomes served from the cache.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Number of outcomes evaluated by {@code doInternal}.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private record Key(String credential, RestPattern pattern) {
+    }
+
+    private record Decision(boolean allowed, int status, long expiresAt) {
+
+        boolean isExpired(final long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+
+    /**
+     * Cache entry, completed once its single loader finished.
+     */
+    private static final class Entry {
+
+        private final CompletableFuture<Decision> future = new CompletableFuture<>();
+
+        Decision await() {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw e;
+            }
+        }
+
+        /**
+         * Entries still loading are never considered expired.
+         */
+        boolean isExpired(final long now) {
+            Decision decision = future.getNow(null);
+            return decision != null && decision.isExpired(now);
+        }
+    }
+
+    /**
+     * Builder for {@link DecisionCache}.
+     */
+    public static class DecisionCacheBuilder {
+
+        private Function<HttpServletRequest, String> keyExtractor;
+        private Duration ttl = Duration.ofMinutes(1);
+        private Duration negativeTtl = Duration.ZERO;
+        private int maximumSize = 10_000;
+
+        public DecisionCacheBuilder() {
+        }
+
+        /**
+         * Extract the credential part of the key from the request, e.g. a hash of the bearer token. Required.
+         * <p> Returning {@code null} bypasses the cache for the request.
+         */
+        public DecisionCacheBuilder keyExtractor(Function<HttpServletRequest, String> keyExtractor) {
+            this.keyExtractor = keyExtractor;
+            return this;
+        }
+
+        /**
+         * Time to keep positive outcomes. Default is 1 minute.
+         */
+        public DecisionCacheBuilder ttl(Duration ttl) {
+            this.ttl = ttl;
+            return this;
+        }
+
+        /**
+         * Time to keep negative outcomes. Default is zero, which disables negative caching.
+         * <p> Cached negative outcomes only replay the response status, see {@link DecisionCache}.
+         */
+        public DecisionCacheBuilder negativeTtl(Duration negativeTtl) {
+            this.negativeTtl = negativeTtl;
+            return this;
+        }
+
+        /**
+         * Maximum number of cached outcomes. Default is 10000.
+         */
+        public DecisionCacheBuilder maximumSize(int maximumSize) {
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        public DecisionCache build() {
+            Objects.requireNonNull(keyExtractor, "keyExtractor must be set");
+            if (ttl.isNegative() || negativeTtl.isNegative() || maximumSize < 1) {
+                throw new IllegalArgumentException("TTLs must not be negative and maximumSize must be positive");
+            }
+            return new DecisionCache(keyExtractor, ttl.toNanos(), negativeTtl.toNanos(), maximumSize);
+        }
+    }
+}
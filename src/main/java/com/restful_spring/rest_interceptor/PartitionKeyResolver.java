@@ -0,0 +1,50 @@
+package com.restful_spring.rest_interceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.Locale;
+
+/**
+ * Resolves the partition key of a request, e.g. its host or tenant, to select the partitioned RestPatterns it is
+ * matched against.
+ *
+ * @author cookie-meringue
+ * @since 1.0.4
+ */
+@FunctionalInterface
+public interface PartitionKeyResolver {
+
+    /**
+     * Resolve the partition key of the request.
+     *
+     * @return the partition key, or {@code null} if the request belongs to no partition
+     */
+    String resolve(HttpServletRequest request);
+
+    /**
+     * Partition by host name, in lower case and without port.
+     */
+    static PartitionKeyResolver host() {
+        return request -> {
+            String serverName = request.getServerName();
+            return serverName == null ? null : serverName.toLowerCase(Locale.ROOT);
+        };
+    }
+
+    /**
+     * Partition by the path segment following the given prefix, e.g. {@code acme} of {@code /t/acme/orders} with
+     * prefix {@code /t/}.
+     */
+    static PartitionKeyResolver pathSegment(final String prefix) {
+        String normalizedPrefix = prefix.endsWith("/") ? prefix : prefix + "/";
+        return request -> {
+            String uri = request.getRequestURI();
+            if (uri == null || !uri.startsWith(normalizedPrefix)) {
+                return null;
+            }
+            int start = normalizedPrefix.length();
+            int end = uri.indexOf('/', start);
+            String segment = end < 0 ? uri.substring(start) : uri.substring(start, end);
+            return segment.isEmpty() ? null : segment;
+        };
+    }
+}
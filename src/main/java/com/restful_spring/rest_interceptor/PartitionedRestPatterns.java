@@ -0,0 +1,77 @@
+package com.restful_spring.rest_interceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * RestPatterns partitioned by a key such as the host or tenant of the request.
+ * <p> A request is only matched against the RestPatterns of its own partition, found with a single hash lookup, so
+ * the cost per request does not grow with the number of partitions.
+ * <p> Published RestPatterns are never modified. Adding to or replacing a partition publishes a new RestPatterns for
+ * that partition only, so partitions can be swapped at runtime while requests are being matched.
+ *
+ * @author cookie-meringue
+ * @since 1.0.4
+ */
+final class PartitionedRestPatterns {
+
+    private final PartitionKeyResolver resolver;
+    private final Map<String, RestPatterns> partitions = new ConcurrentHashMap<>();
+
+    PartitionedRestPatterns(final PartitionKeyResolver resolver) {
+        this.resolver = resolver;
+    }
+
+    /**
+     * Resolve the partition key of the request.
+     *
+     * @return the partition key, or {@code null} if the request has no partition
+     */
+    String resolveKey(final HttpServletRequest request) {
+        return resolver.resolve(request);
+    }
+
+    /**
+     * Find the first RestPattern of the given partition matching the request.
+     *
+     * @return the first matching RestPattern, or {@code null} if no patterns match
+     */
+    RestPattern findMatch(final String key, final HttpServletRequest request) {
+        RestPatterns restPatterns = partitions.get(key);
+        return restPatterns == null ? null : restPatterns.findMatch(request);
+    }
+
+    /**
+     * Add RestPatterns to a partition, keeping its existing ones.
+     */
+    void add(final String key, final RestPatterns restPatterns) {
+        partitions.compute(key, (ignored, existing) -> {
+            RestPatterns merged = RestPatterns.empty();
+            if (existing != null) {
+                merged.addAll(existing);
+            }
+            merged.addAll(restPatterns);
+            return merged;
+        });
+    }
+
+    /**
+     * Replace all RestPatterns of a partition. Other partitions are not affected.
+     * <p> The given RestPatterns must not be modified afterwards.
+     */
+    void replace(final String key, final RestPatterns restPatterns) {
+        partitions.put(key, restPatterns);
+    }
+
+    /**
+     * Remove a partition and all its RestPatterns.
+     */
+    void remove(final String key) {
+        partitions.remove(key);
+    }
+
+    int size() {
+        return partitions.size();
+    }
+}
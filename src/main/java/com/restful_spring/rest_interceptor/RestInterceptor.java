@@ -2,29 +2,110 @@ package com.restful_spring.rest_interceptor;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.springframework.web.cors.CorsUtils;
 import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
 
 /**
  * Interceptor for RESTful API.
  * <p> This class is an abstract class that implements {@link HandlerInterceptor}.
  * <p> Request will always be passed if it is a pre-flight request or it is not matched with any of the
  * restfulPatterns.
+ * <p> The matched RestPattern is resolved once in {@code preHandle} and stored as a {@link RestMatch} in a request
+ * attribute, so {@link #doPostHandle} and {@link #doAfterCompletion} are only invoked for matched requests without
+ * matching again. The RestMatch also exposes the URI template variables of the request path.
  *
  * @author cookie-meringue
  * @since 0.1
  */
 public abstract class RestInterceptor implements HandlerInterceptor {
 
+    private static final AtomicInteger INSTANCE_COUNTER = new AtomicInteger();
+
     RestPatterns restPatterns = RestPatterns.empty();
     RestPatterns excludePatterns = RestPatterns.empty();
+    PartitionedRestPatterns partitionedPatterns;
+    volatile ShadowEvaluation shadowEvaluation;
+    DecisionCache decisionCache;
+
+    /**
+     * Request attribute holding the RestMatch of this instance. Unique per instance, since several RestInterceptors
+     * may handle the same request.
+     */
+    private final String matchAttribute =
+            RestInterceptor.class.getName() + ".MATCH." + INSTANCE_COUNTER.incrementAndGet();
 
     @Override
     public final boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
-        if (isPreFlightRequest(request) || shouldSkip(request)) {
+        if (isPreFlightRequest(request)) {
+            request.setAttribute(matchAttribute, null);
             return true;
         }
-        return doInternal(request, response, handler);
+        RestMatch match = findMatch(request);
+        request.setAttribute(matchAttribute, match);
+        ShadowEvaluation shadow = shadowEvaluation;
+        if (shadow != null) {
+            shadow.evaluate(request, match != null);
+        }
+        if (match == null) {
+            return true;
+        }
+        if (decisionCache != null) {
+            return decisionCache.decide(request, response, match.getPattern(),
+                    () -> doInternal(request, response, handler, match));
+        }
+        return doInternal(request, response, handler, match);
+    }
+
+    /**
+     * Invokes {@link #doPostHandle} for requests matched in {@code preHandle}.
+     * <p> Subclasses overriding this method should call {@code super.postHandle} to keep {@code doPostHandle}
+     * working.
+     */
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        if (getMatch(request) != null) {
+            doPostHandle(request, response, handler, modelAndView);
+        }
+    }
+
+    /**
+     * Invokes {@link #doAfterCompletion} for requests matched in {@code preHandle}.
+     * <p> Subclasses overriding this method should call {@code super.afterCompletion} to keep
+     * {@code doAfterCompletion} working.
+     */
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (getMatch(request) != null) {
+            doAfterCompletion(request, response, handler, ex);
+        }
+    }
+
+    /**
+     * Find the RestPattern the request is handled for.
+     * <p> Requests matched with any of the excludePatterns are not handled.
+     * <p> RestPatterns of the request's partition are matched before the restPatterns shared by all partitions.
+     * Requests without a partition key skip the partition lookup and are matched against the shared restPatterns
+     * only. If several patterns match, the first registered one wins.
+     *
+     * @return the RestMatch, or {@code null} if the request should be skipped
+     */
+    private RestMatch findMatch(final HttpServletRequest request) {
+        if (excludePatterns.anyMatches(request)) {
+            return null;
+        }
+        String partitionKey = partitionedPatterns == null ? null : partitionedPatterns.resolveKey(request);
+        RestPattern pattern = partitionKey == null ? null : partitionedPatterns.findMatch(partitionKey, request);
+        if (pattern == null) {
+            pattern = restPatterns.findMatch(request);
+        }
+        if (pattern == null) {
+            return null;
+        }
+        return new RestMatch(pattern, request.getRequestURI());
     }
 
     /**
@@ -35,12 +116,24 @@ public abstract class RestInterceptor implements HandlerInterceptor {
     }
 
     /**
-     * Check if the request should be skipped.
-     * <p> If request path is not matched with any of the restfulPatterns, it should be skipped.
-     * <p> If request path is matched with any of the excludePatterns, it should be skipped.
+     * Get the RestMatch this interceptor resolved for the request in {@code preHandle}.
+     *
+     * @return the RestMatch, or {@code null} if the request was skipped
+     * @since 1.0.4
      */
-    private boolean shouldSkip(final HttpServletRequest request) {
-        return excludePatterns.anyMatches(request) || restPatterns.noneMatches(request);
+    protected final RestMatch getMatch(final HttpServletRequest request) {
+        return (RestMatch) request.getAttribute(matchAttribute);
+    }
+
+    /**
+     * Get the RestPattern this interceptor matched for the request in {@code preHandle}.
+     *
+     * @return the matched RestPattern, or {@code null} if the request was skipped
+     * @since 1.0.4
+     */
+    protected final RestPattern getMatchedPattern(final HttpServletRequest request) {
+        RestMatch match = getMatch(request);
+        return match == null ? null : match.getPattern();
     }
 
     /**
@@ -51,6 +144,87 @@ public abstract class RestInterceptor implements HandlerInterceptor {
         return true;
     }
 
+    /**
+     * Variant of {@link #doInternal(HttpServletRequest, HttpServletResponse, Object)} receiving the RestMatch, which
+     * gives access to the matched RestPattern without matching again, and to the URI template variables, extracted by
+     * a second, lazy match on first access.
+     * <p> Default implementation delegates to {@link #doInternal(HttpServletRequest, HttpServletResponse, Object)}.
+     *
+     * @since 1.0.4
+     */
+    protected boolean doInternal(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                 RestMatch match) {
+        return doInternal(request, response, handler);
+    }
+
+    /**
+     * Core logic of {@link #postHandle(HttpServletRequest, HttpServletResponse, Object, ModelAndView)}
+     * <p> Only invoked for requests matched in {@code preHandle}. Default implementation does nothing.
+     *
+     * @since 1.0.4
+     */
+    protected void doPostHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                ModelAndView modelAndView) {
+    }
+
+    /**
+     * Core logic of {@link #afterCompletion(HttpServletRequest, HttpServletResponse, Object, Exception)}
+     * <p> Only invoked for requests matched in {@code preHandle} whose {@code doInternal} returned true. Default
+     * implementation does nothing.
+     *
+     * @since 1.0.4
+     */
+    protected void doAfterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                     Exception ex) {
+    }
+
+    /**
+     * Partitions RestPatterns by the key the given resolver extracts from requests.
+     *
+     * @param resolver the PartitionKeyResolver
+     * @throws IllegalStateException if RestPatterns are already partitioned
+     * @since 1.0.4
+     */
+    void partitionBy(final PartitionKeyResolver resolver) {
+        if (partitionedPatterns != null) {
+            throw new IllegalStateException("RestPatterns are already partitioned");
+        }
+        this.partitionedPatterns = new PartitionedRestPatterns(resolver);
+    }
+
+    /**
+     * Get the partitioned RestPatterns.
+     *
+     * @throws IllegalStateException if RestPatterns are not partitioned
+     * @since 1.0.4
+     */
+    PartitionedRestPatterns getPartitionedPatterns() {
+        if (partitionedPatterns == null) {
+            throw new IllegalStateException("RestPatterns are not partitioned, call partitionBy first");
+        }
+        return partitionedPatterns;
+    }
+
+    /**
+     * Sets the ShadowEvaluation computing candidate verdicts next to the live ones.
+     *
+     * @param shadowEvaluation the ShadowEvaluation, or {@code null} to disable it
+     * @since 1.0.4
+     */
+    void setShadowEvaluation(final ShadowEvaluation shadowEvaluation) {
+        this.shadowEvaluation = shadowEvaluation;
+    }
+
+    /**
+     * Sets the DecisionCache memoizing the outcomes of doInternal.
+     *
+     * @param decisionCache the DecisionCache, or {@code null} to disable it
+     * @since 1.0.4
+     */
+    void setDecisionCache(final DecisionCache decisionCache) {
+        this.decisionCache = decisionCache;
+    }
+
     /**
      * Adds all RestPatterns from the given RestPatterns instance.
      * <p>
@@ -38,6 +38,17 @@ public final class RestInterceptorRegistration {
         return addRestPatterns(RestPatterns.from(restPatterns));
     }
 
+    /**
+     * Add RestPatterns imported from an OpenAPI document or a route manifest.
+     *
+     * @param importer the RestPatternImporter describing the document and the operations to select
+     * @return this RestInterceptorRegistration instance for method chaining
+     * @since 1.0.4
+     */
+    public RestInterceptorRegistration addRestPatterns(RestPatternImporter importer) {
+        return addRestPatterns(importer.importPatterns());
+    }
+
     /**
      * Adds the given RestPatterns to the RestInterceptor and updates path patterns.
      * <p>
@@ -68,6 +79,17 @@ public final class RestInterceptorRegistration {
         return excludeRestPatterns(RestPatterns.from(restPatterns));
     }
 
+    /**
+     * Exclude RestPatterns imported from an OpenAPI document or a route manifest.
+     *
+     * @param importer the RestPatternImporter describing the document and the operations to select
+     * @return this RestInterceptorRegistration instance for method chaining
+     * @since 1.0.4
+     */
+    public RestInterceptorRegistration excludeRestPatterns(RestPatternImporter importer) {
+        return excludeRestPatterns(importer.importPatterns());
+    }
+
     /**
      * Adds the given RestPatterns to the RestInterceptor and updates exclude path patterns.
      * <p>
@@ -84,6 +106,128 @@ public final class RestInterceptorRegistration {
         return this;
     }
 
+    /**
+     * Partition RestPatterns by the key the given resolver extracts from requests, e.g. the host or the tenant.
+     * <p>
+     * RestPatterns added with a partition key are only matched against requests of that partition, found with a single
+     * hash lookup, before the RestPatterns shared by all partitions. Requests the resolver finds no partition key for
+     * skip the partition lookup and are matched against the shared RestPatterns.
+     * <p>
+     * Since partitions can be replaced at runtime, the interceptor registration is extended to all paths
+     * ({@code /**}) and requests are filtered by the RestInterceptor alone. Every request, including static resources,
+     * {@code /error} and actuator endpoints, therefore reaches the interceptor and pays for the exclude scan, the
+     * partition key resolution and the shared scan.
+     *
+     * @param resolver the PartitionKeyResolver, e.g. {@link PartitionKeyResolver#host()}
+     * @return this RestInterceptorRegistration instance for method chaining
+     * @since 1.0.4
+     */
+    public RestInterceptorRegistration partitionBy(PartitionKeyResolver resolver) {
+        restInterceptor.partitionBy(resolver);
+        registration.addPathPatterns("/**");
+        return this;
+    }
+
+    /**
+     * Add RestPatterns the interceptor should be included in for requests of the given partition.
+     *
+     * @throws IllegalStateException if {@link #partitionBy(PartitionKeyResolver)} was not called
+     * @since 1.0.4
+     */
+    public RestInterceptorRegistration addRestPatterns(String partitionKey, RestPattern... restPatterns) {
+        return addRestPatterns(partitionKey, Arrays.asList(restPatterns));
+    }
+
+    /**
+     * Collection-based variant of {@link #addRestPatterns(String, RestPattern...)}.
+     *
+     * @since 1.0.4
+     */
+    public RestInterceptorRegistration addRestPatterns(String partitionKey, Collection<RestPattern> restPatterns) {
+        restInterceptor.getPartitionedPatterns().add(partitionKey, RestPatterns.from(restPatterns));
+        return this;
+    }
+
+    /**
+     * Replace all RestPatterns of the given partition, without affecting other partitions.
+     * <p>
+     * May be called at runtime, while requests are being handled.
+     *
+     * @throws IllegalStateException if {@link #partitionBy(PartitionKeyResolver)} was not called
+     * @since 1.0.4
+     */
+    public RestInterceptorRegistration replaceRestPatterns(String partitionKey, Collection<RestPattern> restPatterns) {
+        restInterceptor.getPartitionedPatterns().replace(partitionKey, RestPatterns.from(restPatterns));
+        return this;
+    }
+
+    /**
+     * Remove the given partition and all its RestPatterns.
+     * <p>
+     * May be called at runtime, while requests are being handled.
+     *
+     * @throws IllegalStateException if {@link #partitionBy(PartitionKeyResolver)} was not called
+     * @since 1.0.4
+     */
+    public RestInterceptorRegistration removeRestPatterns(String partitionKey) {
+        restInterceptor.getPartitionedPatterns().remove(partitionKey);
+        return this;
+    }
+
+    /**
+     * Evaluate the candidate patterns of the given ShadowEvaluation next to the live ones, without affecting request
+     * handling.
+     * <p>
+     * The candidate include paths are added to the path patterns of the interceptor registration, so that requests
+     * only the candidate would include reach the interceptor. Requests excluded by live exclude path patterns never
+     * reach it and cannot be compared.
+     * <p>
+     * This widening is not sampled and not covered by the CPU budget of the ShadowEvaluation: every request on a
+     * candidate path now runs the live exclude and include scans, even when the live patterns never include it. Path
+     * patterns cannot be removed from a registration, so this cost remains after {@link #removeShadow()} until the
+     * application context is refreshed without the shadow. Keep candidate paths as narrow as the change under test.
+     *
+     * @param shadowEvaluation the ShadowEvaluation to attach
+     * @return this RestInterceptorRegistration instance for method chaining
+     * @since 1.0.4
+     */
+    public RestInterceptorRegistration shadow(ShadowEvaluation shadowEvaluation) {
+        restInterceptor.setShadowEvaluation(shadowEvaluation);
+        registration.addPathPatterns(shadowEvaluation.getRestPatterns().getPaths());
+        return this;
+    }
+
+    /**
+     * Detach the ShadowEvaluation, if any, so that no further requests are sampled.
+     * <p>
+     * May be called at runtime, while requests are being handled. The counters and divergences of the detached
+     * ShadowEvaluation remain readable. The candidate paths added by {@link #shadow(ShadowEvaluation)} stay in the
+     * path patterns of the interceptor registration.
+     *
+     * @return this RestInterceptorRegistration instance for method chaining
+     * @since 1.0.4
+     */
+    public RestInterceptorRegistration removeShadow() {
+        restInterceptor.setShadowEvaluation(null);
+        return this;
+    }
+
+    /**
+     * Memoize the outcomes of {@code doInternal} in the given DecisionCache, keyed by the extracted credential and the
+     * matched RestPattern.
+     * <p>
+     * Cached requests skip {@code doInternal} entirely. If negative outcomes are cached, only the response status is
+     * replayed; headers and error bodies {@code doInternal} wrote for the first request are not.
+     *
+     * @param decisionCache the DecisionCache to use
+     * @return this RestInterceptorRegistration instance for method chaining
+     * @since 1.0.4
+     */
+    public RestInterceptorRegistration cacheDecisions(DecisionCache decisionCache) {
+        restInterceptor.setDecisionCache(decisionCache);
+        return this;
+    }
+
     /**
      * Specify an order position to be used. Default is 0.
      */
@@ -0,0 +1,63 @@
+package com.restful_spring.rest_interceptor;
+
+import java.util.Map;
+
+/**
+ * Result of matching a request with a {@link RestPattern}.
+ * <p> Holds the matched RestPattern and gives access to the URI template variables of the request path, e.g.
+ * {@code userId} of {@code /users/{userId}}.
+ * <p> Variables are extracted by a second, lazy match of the pattern against the request path on first access, and
+ * kept for later accesses. Interceptors which never read variables, and patterns without template variables, pay no
+ * extraction cost.
+ * <p> Variable values are taken from the request URI as is, without URL decoding.
+ *
+ * @author cookie-meringue
+ * @since 1.0.4
+ */
+public final class RestMatch {
+
+    private final RestPattern pattern;
+    private final String path;
+    private Map<String, String> variables;
+
+    RestMatch(final RestPattern pattern, final String path) {
+        this.pattern = pattern;
+        this.path = path;
+    }
+
+    /**
+     * Get the matched RestPattern.
+     */
+    public RestPattern getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Get the value of the given URI template variable.
+     *
+     * @return the value, or {@code null} if the pattern has no such variable
+     */
+    public String getVariable(final String name) {
+        return getVariables().get(name);
+    }
+
+    /**
+     * Get all URI template variables, keyed by variable name.
+     *
+     * @return an unmodifiable Map, empty if the pattern has no template variables
+     */
+    public Map<String, String> getVariables() {
+        if (variables == null) {
+            variables = pattern.extractVariables(path);
+        }
+        return variables;
+    }
+
+    @Override
+    public String toString() {
+        return "RestMatch{" +
+                "pattern=" + pattern +
+                ", path=" + path +
+                '}';
+    }
+}
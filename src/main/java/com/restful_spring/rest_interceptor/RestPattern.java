@@ -4,7 +4,9 @@ import static org.springframework.http.HttpMethod.GET;
 
 import jakarta.servlet.http.HttpServletRequest;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import org.springframework.http.HttpMethod;
@@ -21,11 +23,20 @@ import org.springframework.util.AntPathMatcher;
  */
 public final class RestPattern {
 
+    /**
+     * Shared by every RestPattern. AntPathMatcher is thread-safe and caches tokenized patterns, so a single instance
+     * avoids allocating a matcher and its caches per pattern.
+     */
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
     private final String path;
     private final Set<HttpMethod> methods;
-    private final AntPathMatcher pathMatcher = new AntPathMatcher();
 
-    private RestPattern(final String path, final Set<HttpMethod> methods) {
+    /**
+     * Create a new instance owning the given set of HTTP methods, without copying it. Callers must not modify the set
+     * afterwards.
+     */
+    RestPattern(final String path, final Set<HttpMethod> methods) {
         this.path = path;
         this.methods = methods;
     }
@@ -75,7 +86,18 @@ public final class RestPattern {
      */
     boolean matches(final HttpServletRequest request) {
         return methods.contains(HttpMethod.valueOf(request.getMethod())) &&
-                pathMatcher.match(path, request.getRequestURI());
+                PATH_MATCHER.match(path, request.getRequestURI());
+    }
+
+    /**
+     * Extract the URI template variables of the given path, which must match this pattern.
+     * <p> Returns an empty Map without invoking the matcher if the pattern has no template variables.
+     */
+    Map<String, String> extractVariables(final String requestPath) {
+        if (path.indexOf('{') < 0) {
+            return Map.of();
+        }
+        return Collections.unmodifiableMap(PATH_MATCHER.extractUriTemplateVariables(path, requestPath));
     }
 
     String getPath() {
@@ -0,0 +1,290 @@
+package com.restful_spring.rest_interceptor;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.AntPathMatcher;
+
+/**
+ * Imports RestPatterns in bulk from an OpenAPI document or a route manifest.
+ * <p> Documents are parsed as a stream, in a single pass, without building a document tree. Operations sharing a
+ * path are merged into one RestPattern with all their HTTP methods.
+ * <p> Supported formats:
+ * <ul>
+ *     <li>OpenAPI 3 or Swagger 2 documents in JSON. Operations are read from {@code paths}.</li>
+ *     <li>Line-based manifests with one route per line: HTTP methods separated by commas or {@code *} for all
+ *     methods, the path and optionally tags separated by commas, e.g. {@code GET,POST /users/:id admin,users}.
+ *     Blank lines and lines starting with {@code #} are ignored.</li>
+ * </ul>
+ * <p> Path segments written as {@code :param} are converted to {@code {param}} templates.
+ * <p> Usage:
+ * <pre>
+ * restInterceptorRegistry.addInterceptor(authInterceptor)
+ *         .addRestPatterns(RestPatternImporter.openApi(new ClassPathResource("openapi.json")).tags("secured"));
+ * </pre>
+ *
+ * @author cookie-meringue
+ * @since 1.0.4
+ */
+public final class RestPatternImporter {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+    private static final Pattern COLON_PARAMETER = Pattern.compile("(?<=/):([A-Za-z_][A-Za-z0-9_]*)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Map<String, HttpMethod> HTTP_METHODS = new HashMap<>();
+    private static final Function<String, Set<HttpMethod>> NEW_METHOD_SET = path -> new HashSet<>();
+
+    static {
+        for (HttpMethod method : HttpMethod.values()) {
+            HTTP_METHODS.put(method.name(), method);
+        }
+    }
+
+    private final Resource resource;
+    private final boolean openApi;
+    private final Set<String> tags = new HashSet<>();
+    private final List<String> pathPatterns = new ArrayList<>();
+    private String basePath = "";
+
+    private RestPatternImporter(final Resource resource, final boolean openApi) {
+        this.resource = resource;
+        this.openApi = openApi;
+    }
+
+    /**
+     * Create a new importer reading an OpenAPI document in JSON.
+     */
+    public static RestPatternImporter openApi(final Resource resource) {
+        return new RestPatternImporter(resource, true);
+    }
+
+    /**
+     * Create a new importer reading a line-based route manifest.
+     */
+    public static RestPatternImporter manifest(final Resource resource) {
+        return new RestPatternImporter(resource, false);
+    }
+
+    /**
+     * Only import operations with any of the given tags.
+     */
+    public RestPatternImporter tags(final String... tags) {
+        this.tags.addAll(Arrays.asList(tags));
+        return this;
+    }
+
+    /**
+     * Only import operations whose path, after conversion and prefixing, matches any of the given Ant-style patterns.
+     */
+    public RestPatternImporter paths(final String... pathPatterns) {
+        this.pathPatterns.addAll(Arrays.asList(pathPatterns));
+        return this;
+    }
+
+    /**
+     * Prefix every imported path with the given base path, e.g. the servlet path of the API.
+     */
+    public RestPatternImporter basePath(final String basePath) {
+        this.basePath = basePath.endsWith("/") ? basePath.substring(0, basePath.length() - 1) : basePath;
+        return this;
+    }
+
+    /**
+     * Parse the resource and build the selected RestPatterns.
+     *
+     * @throws UncheckedIOException     if the resource cannot be read or is not valid JSON
+     * @throws IllegalArgumentException if the document is malformed
+     */
+    RestPatterns importPatterns() {
+        Map<String, Set<HttpMethod>> routes = new LinkedHashMap<>();
+        try (InputStream inputStream = resource.getInputStream()) {
+            if (openApi) {
+                readOpenApi(inputStream, routes);
+            } else {
+                readManifest(inputStream, routes);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to import RestPatterns from " + resource.getDescription(), e);
+        }
+
+        List<RestPattern> restPatterns = new ArrayList<>(routes.size());
+        routes.forEach((path, methods) -> restPatterns.add(new RestPattern(path, methods)));
+        return new RestPatterns(restPatterns);
+    }
+
+    private void readOpenApi(final InputStream inputStream, final Map<String, Set<HttpMethod>> routes)
+            throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("OpenAPI document must be a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                if ("paths".equals(name)) {
+                    readPaths(parser, routes);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    private void readPaths(final JsonParser parser, final Map<String, Set<HttpMethod>> routes) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw new IllegalArgumentException("OpenAPI paths must be a JSON object");
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String path = resolvePath(parser.currentName());
+            if (parser.nextToken() != JsonToken.START_OBJECT || path == null) {
+                parser.skipChildren();
+                continue;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                HttpMethod method = HTTP_METHODS.get(parser.currentName().toUpperCase(Locale.ROOT));
+                parser.nextToken();
+                if (method == null) {
+                    parser.skipChildren();
+                    continue;
+                }
+                if (readOperationSelected(parser)) {
+                    routes.computeIfAbsent(path, NEW_METHOD_SET).add(method);
+                }
+            }
+        }
+    }
+
+    /**
+     * Read an operation object, checking its tags against the selected ones.
+     */
+    private boolean readOperationSelected(final JsonParser parser) throws IOException {
+        if (tags.isEmpty() || parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return tags.isEmpty();
+        }
+        boolean selected = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if (!"tags".equals(name) || token != JsonToken.START_ARRAY) {
+                parser.skipChildren();
+                continue;
+            }
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (tags.contains(parser.getText())) {
+                    selected = true;
+                }
+                parser.skipChildren();
+            }
+        }
+        return selected;
+    }
+
+    private void readManifest(final InputStream inputStream, final Map<String, Set<HttpMethod>> routes)
+            throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] columns = WHITESPACE.split(line);
+            if (columns.length < 2 || columns.length > 3) {
+                throw new IllegalArgumentException("Malformed route at line " + lineNumber + ": " + line);
+            }
+            if (!tags.isEmpty() && (columns.length < 3 || !anyTagSelected(columns[2]))) {
+                continue;
+            }
+            String path = resolvePath(columns[1]);
+            parseMethods(columns[0], lineNumber, path == null ? null : routes.computeIfAbsent(path, NEW_METHOD_SET));
+        }
+    }
+
+    private boolean anyTagSelected(final String tagColumn) {
+        for (String tag : tagColumn.split(",")) {
+            if (tags.contains(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parse the methods column of a manifest line into the method set of its route.
+     *
+     * @param methods the method set of the route, or {@code null} to only validate the column
+     */
+    private static void parseMethods(final String methodColumn, final int lineNumber, final Set<HttpMethod> methods) {
+        if ("*".equals(methodColumn)) {
+            if (methods != null) {
+                methods.addAll(HTTP_METHODS.values());
+            }
+            return;
+        }
+        for (String name : methodColumn.split(",")) {
+            HttpMethod method = HTTP_METHODS.get(name.toUpperCase(Locale.ROOT));
+            if (method == null) {
+                throw new IllegalArgumentException("Unknown HTTP method at line " + lineNumber + ": " + name);
+            }
+            if (methods != null) {
+                methods.add(method);
+            }
+        }
+    }
+
+    /**
+     * Convert and prefix a path.
+     *
+     * @return the path, or {@code null} if it does not match the selected path patterns
+     */
+    private String resolvePath(final String rawPath) {
+        String path = basePath + convertTemplate(rawPath);
+        if (!pathPatterns.isEmpty() && !matchesAnyPathPattern(path)) {
+            return null;
+        }
+        return path;
+    }
+
+    private boolean matchesAnyPathPattern(final String path) {
+        for (String pattern : pathPatterns) {
+            if (PATH_MATCHER.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Convert {@code :param} path segments to {@code {param}} templates. OpenAPI templates, and colons inside a
+     * segment such as {@code /items:batchGet}, are kept as is.
+     */
+    static String convertTemplate(final String path) {
+        if (path.indexOf(':') < 0) {
+            return path;
+        }
+        return COLON_PARAMETER.matcher(path).replaceAll("{$1}");
+    }
+}
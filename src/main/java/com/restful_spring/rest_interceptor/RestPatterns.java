@@ -17,7 +17,10 @@ final class RestPatterns {
 
     private final List<RestPattern> values;
 
-    private RestPatterns(List<RestPattern> values) {
+    /**
+     * Create a new instance owning the given mutable list, without copying it.
+     */
+    RestPatterns(List<RestPattern> values) {
         this.values = values;
     }
 
@@ -67,23 +70,43 @@ final class RestPatterns {
                 .anyMatch(pattern -> pattern.matches(request));
     }
 
+    /**
+     * Find the first RestPattern matching the given request, in registration order.
+     *
+     * @param request the HttpServletRequest to be checked against the patterns
+     * @return the first matching RestPattern, or {@code null} if no patterns match the request
+     * @since 1.0.4
+     */
+    RestPattern findMatch(final HttpServletRequest request) {
+        for (RestPattern pattern : values) {
+            if (pattern.matches(request)) {
+                return pattern;
+            }
+        }
+        return null;
+    }
+
     /**
      * Add all RestPatterns from another RestPatterns.
      *
      * @param restPatterns another RestPatterns
      */
     void addAll(final RestPatterns restPatterns) {
-        values.addAll(List.copyOf(restPatterns.values));
+        values.addAll(restPatterns.values);
     }
 
     /**
-     * Get the paths of the RestPatterns.
+     * Get the distinct paths of the RestPatterns.
+     * <p>
+     * Patterns sharing a path with different HTTP methods contribute the path only once, so the interceptor
+     * registration does not parse the same path pattern repeatedly.
      *
-     * @return a List of paths
+     * @return a List of distinct paths
      */
     List<String> getPaths() {
         return values.stream()
                 .map(RestPattern::getPath)
+                .distinct()
                 .toList();
     }
 }
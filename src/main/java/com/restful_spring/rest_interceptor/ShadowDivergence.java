@@ -0,0 +1,18 @@
+package com.restful_spring.rest_interceptor;
+
+import java.time.Instant;
+
+/**
+ * A request for which the candidate patterns of a {@link ShadowEvaluation} gave a different verdict than the live
+ * patterns.
+ *
+ * @param time      when the request was evaluated
+ * @param method    HTTP method of the request
+ * @param path      request URI
+ * @param live      whether the live patterns handle the request
+ * @param candidate whether the candidate patterns would handle the request
+ * @author cookie-meringue
+ * @since 1.0.4
+ */
+public record ShadowDivergence(Instant time, String method, String path, boolean live, boolean candidate) {
+}
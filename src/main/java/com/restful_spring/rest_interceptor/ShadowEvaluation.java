@@ -0,0 +1,230 @@
+package com.restful_spring.rest_interceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Dry-run evaluation of candidate include/exclude RestPatterns next to the live ones of a {@link RestInterceptor}.
+ * <p> On a sampled fraction of requests the candidate verdict is computed after the live one and compared with it.
+ * Candidate patterns never affect request handling. Requests which would be treated differently are kept in a bounded
+ * buffer of the most recent {@link ShadowDivergence}s and counted.
+ * <p> Evaluation runs on the request thread, since it needs nothing but the request method and URI, and is bounded
+ * by a CPU budget: once the time spent evaluating within the current second exceeds the budget, further samples of
+ * that second are skipped and counted. The time charged covers the whole evaluation, including recording a
+ * divergence. The budget only covers the candidate evaluation: attaching a shadow also
+ * routes requests on candidate paths through the live scans, see
+ * {@link RestInterceptorRegistration#shadow(ShadowEvaluation)}.
+ * <p> Attach it to a registration with {@link RestInterceptorRegistration#shadow(ShadowEvaluation)} and detach it with
+ * {@link RestInterceptorRegistration#removeShadow()}.
+ *
+ * @author cookie-meringue
+ * @since 1.0.4
+ */
+public final class ShadowEvaluation {
+
+    private static final long WINDOW_NANOS = 1_000_000_000L;
+
+    private final RestPatterns restPatterns;
+    private final RestPatterns excludePatterns;
+    private final double sampleRate;
+    private final long budgetNanos;
+    private final int capacity;
+
+    private final Deque<ShadowDivergence> divergences;
+    private final LongAdder sampled = new LongAdder();
+    private final LongAdder diverged = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final AtomicLong windowSpent = new AtomicLong();
+
+    private ShadowEvaluation(final RestPatterns restPatterns, final RestPatterns excludePatterns,
+                             final double sampleRate, final long budgetNanos, final int capacity) {
+        this.restPatterns = restPatterns;
+        this.excludePatterns = excludePatterns;
+        this.sampleRate = sampleRate;
+        this.budgetNanos = budgetNanos;
+        this.capacity = capacity;
+        this.divergences = new ArrayDeque<>(capacity);
+    }
+
+    public static ShadowEvaluationBuilder builder() {
+        return new ShadowEvaluationBuilder();
+    }
+
+    /**
+     * Get the candidate include patterns.
+     */
+    RestPatterns getRestPatterns() {
+        return restPatterns;
+    }
+
+    /**
+     * Compare the candidate verdict with the live one, if the request is sampled and the budget allows it.
+     *
+     * @param live whether the live patterns handle the request
+     */
+    void evaluate(final HttpServletRequest request, final boolean live) {
+        if (ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        if (overBudget()) {
+            skipped.increment();
+            return;
+        }
+        long start = System.nanoTime();
+        boolean candidate = !excludePatterns.anyMatches(request) && restPatterns.findMatch(request) != null;
+        sampled.increment();
+
+        if (candidate != live) {
+            diverged.increment();
+            record(new ShadowDivergence(Instant.now(), request.getMethod(), request.getRequestURI(), live, candidate));
+        }
+        windowSpent.addAndGet(System.nanoTime() - start);
+    }
+
+    /**
+     * Check the time spent in the current one-second window, starting a new window when it elapsed.
+     */
+    private boolean overBudget() {
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        if (now - start >= WINDOW_NANOS && windowStart.compareAndSet(start, now)) {
+            windowSpent.set(0);
+        }
+        return windowSpent.get() >= budgetNanos;
+    }
+
+    private void record(final ShadowDivergence divergence) {
+        synchronized (divergences) {
+            if (divergences.size() == capacity) {
+                divergences.removeFirst();
+            }
+            divergences.addLast(divergence);
+        }
+    }
+
+    /**
+     * Get the most recent divergences, oldest first.
+     */
+    public List<ShadowDivergence> getDivergences() {
+        synchronized (divergences) {
+            return List.copyOf(divergences);
+        }
+    }
+
+    /**
+     * Number of requests evaluated against the candidate patterns.
+     */
+    public long getSampledCount() {
+        return sampled.sum();
+    }
+
+    /**
+     * Number of evaluated requests whose candidate verdict differed from the live one.
+     */
+    public long getDivergenceCount() {
+        return diverged.sum();
+    }
+
+    /**
+     * Number of sampled requests skipped because the CPU budget was exhausted.
+     */
+    public long getSkippedCount() {
+        return skipped.sum();
+    }
+
+    /**
+     * Builder for {@link ShadowEvaluation}.
+     */
+    public static class ShadowEvaluationBuilder {
+
+        private final RestPatterns restPatterns = RestPatterns.empty();
+        private final RestPatterns excludePatterns = RestPatterns.empty();
+        private double sampleRate = 0.01;
+        private Duration cpuBudget = Duration.ofMillis(10);
+        private int capacity = 100;
+
+        public ShadowEvaluationBuilder() {
+        }
+
+        /**
+         * Add candidate RestPatterns the interceptor would be included in.
+         */
+        public ShadowEvaluationBuilder addRestPatterns(RestPattern... restPatterns) {
+            return addRestPatterns(Arrays.asList(restPatterns));
+        }
+
+        /**
+         * Collection-based variant of {@link #addRestPatterns(RestPattern...)}.
+         */
+        public ShadowEvaluationBuilder addRestPatterns(Collection<RestPattern> restPatterns) {
+            this.restPatterns.addAll(RestPatterns.from(restPatterns));
+            return this;
+        }
+
+        /**
+         * Add candidate RestPatterns the interceptor would be excluded from.
+         */
+        public ShadowEvaluationBuilder excludeRestPatterns(RestPattern... restPatterns) {
+            return excludeRestPatterns(Arrays.asList(restPatterns));
+        }
+
+        /**
+         * Collection-based variant of {@link #excludeRestPatterns(RestPattern...)}.
+         */
+        public ShadowEvaluationBuilder excludeRestPatterns(Collection<RestPattern> restPatterns) {
+            this.excludePatterns.addAll(RestPatterns.from(restPatterns));
+            return this;
+        }
+
+        /**
+         * Fraction of requests to evaluate, between 0 and 1. Default is 0.01.
+         */
+        public ShadowEvaluationBuilder sampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+            return this;
+        }
+
+        /**
+         * Maximum time spent evaluating per second, across all threads. Default is 10 milliseconds.
+         */
+        public ShadowEvaluationBuilder cpuBudget(Duration cpuBudget) {
+            this.cpuBudget = cpuBudget;
+            return this;
+        }
+
+        /**
+         * Number of most recent divergences to keep. Default is 100.
+         */
+        public ShadowEvaluationBuilder capacity(int capacity) {
+            this.capacity = capacity;
+            return this;
+        }
+
+        public ShadowEvaluation build() {
+            if (sampleRate < 0 || sampleRate > 1) {
+                throw new IllegalArgumentException("Sample rate must be between 0 and 1: " + sampleRate);
+            }
+            if (capacity < 1 || cpuBudget.isNegative()) {
+                throw new IllegalArgumentException("Capacity must be positive and CPU budget must not be negative");
+            }
+            return new ShadowEvaluation(copy(restPatterns), copy(excludePatterns), sampleRate, cpuBudget.toNanos(),
+                    capacity);
+        }
+
+        private static RestPatterns copy(final RestPatterns restPatterns) {
+            RestPatterns copy = RestPatterns.empty();
+            copy.addAll(restPatterns);
+            return copy;
+        }
+    }
+}
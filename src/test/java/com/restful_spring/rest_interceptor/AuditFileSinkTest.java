@@ -0,0 +1,96 @@
+package com.restful_spring.rest_interceptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AuditFileSinkTest {
+
+    @TempDir
+    Path directory;
+
+    private List<Path> files() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    @Test
+    void truncateToWrittenSizeOnClose() throws IOException {
+        // Given
+        AuditFileSink sink = new AuditFileSink(directory, "audit", 1024, 10);
+
+        // When
+        sink.write("first\n");
+        sink.write("second\n");
+        sink.close();
+
+        // Then
+        assertThat(files()).hasSize(1);
+        assertThat(Files.readString(files().get(0))).isEqualTo("first\nsecond\n");
+    }
+
+    @Test
+    void writeLinesAcrossWindows() throws IOException {
+        // Given
+        AuditFileSink sink = new AuditFileSink(directory, "audit", 16 * 1024 * 1024, 10);
+        String first = "a".repeat(3 * 1024 * 1024) + "\n";
+        String second = "b".repeat(3 * 1024 * 1024) + "\n";
+
+        // When
+        sink.write(first);
+        sink.write(second);
+        sink.close();
+
+        // Then
+        assertThat(files()).hasSize(1);
+        assertThat(Files.readString(files().get(0))).isEqualTo(first + second);
+    }
+
+    @Test
+    void rotateWhenLineDoesNotFit() throws IOException {
+        // Given
+        AuditFileSink sink = new AuditFileSink(directory, "audit", 8, 10);
+
+        // When
+        sink.write("12345\n");
+        sink.write("67890\n");
+        sink.close();
+
+        // Then
+        List<Path> files = files();
+        assertThat(files).hasSize(2);
+        assertThat(files.stream().map(AuditFileSinkTest::read))
+                .containsExactlyInAnyOrder("12345\n", "67890\n");
+    }
+
+    @Test
+    void keepMostRecentFiles() throws IOException {
+        // Given
+        AuditFileSink sink = new AuditFileSink(directory, "audit", 4, 2);
+
+        // When
+        sink.write("111\n");
+        sink.write("222\n");
+        sink.write("333\n");
+        sink.close();
+
+        // Then
+        assertThat(files().stream().map(AuditFileSinkTest::read))
+                .containsExactlyInAnyOrder("222\n", "333\n");
+    }
+
+    private static String read(Path file) {
+        try {
+            return Files.readString(file);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
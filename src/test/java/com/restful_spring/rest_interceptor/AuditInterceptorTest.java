@@ -0,0 +1,102 @@
+package com.restful_spring.rest_interceptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.HttpMethod.GET;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class AuditInterceptorTest {
+
+    private static final RestPattern PATTERN = RestPattern.of("/memos/{id}", GET);
+
+    @TempDir
+    Path directory;
+
+    private String readAll() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            StringBuilder content = new StringBuilder();
+            for (Path file : files.sorted().toList()) {
+                content.append(Files.readString(file));
+            }
+            return content.toString();
+        }
+    }
+
+    @Test
+    void writeRecordOfMatchedRequest() throws Exception {
+        // Given
+        AuditInterceptor interceptor = AuditInterceptor.builder().directory(directory).build();
+        interceptor.restPatterns = RestPatterns.from(List.of(PATTERN));
+        MockHttpServletRequest request = new MockHttpServletRequest(GET.name(), "/memos/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(201);
+
+        // When
+        interceptor.preHandle(request, response, new Object());
+        interceptor.afterCompletion(request, response, new Object(), null);
+        interceptor.close();
+
+        // Then
+        String[] columns = readAll().trim().split("\t");
+        assertThat(columns).hasSize(6);
+        assertThat(columns[1]).isEqualTo("GET");
+        assertThat(columns[2]).isEqualTo("/memos/1");
+        assertThat(columns[3]).isEqualTo("/memos/{id}");
+        assertThat(columns[4]).isEqualTo("201");
+        assertThat(interceptor.getWrittenCount()).isEqualTo(1);
+        assertThat(interceptor.getDroppedCount()).isZero();
+    }
+
+    @Test
+    void skipNonMatchingRequest() throws Exception {
+        // Given
+        AuditInterceptor interceptor = AuditInterceptor.builder().directory(directory).build();
+        interceptor.restPatterns = RestPatterns.from(List.of(PATTERN));
+        MockHttpServletRequest request = new MockHttpServletRequest(GET.name(), "/users/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        interceptor.preHandle(request, response, new Object());
+        interceptor.afterCompletion(request, response, new Object(), null);
+        interceptor.close();
+
+        // Then
+        assertThat(readAll()).isEmpty();
+        assertThat(interceptor.getWrittenCount()).isZero();
+    }
+
+    @Test
+    void countDroppedRecordsAfterClose() throws Exception {
+        // Given
+        AuditInterceptor interceptor = AuditInterceptor.builder().directory(directory).build();
+        interceptor.close();
+
+        // When
+        interceptor.record(new AuditRecord(0, "GET", "/memos/1", "/memos/{id}", 200, 0));
+
+        // Then
+        assertThat(interceptor.getDroppedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void restoreInterruptFlagOnClose() throws Exception {
+        // Given
+        AuditInterceptor interceptor = AuditInterceptor.builder().directory(directory).build();
+        Thread.currentThread().interrupt();
+
+        // When
+        interceptor.close();
+
+        // Then
+        assertThat(Thread.interrupted()).isTrue();
+        interceptor.close();
+    }
+}
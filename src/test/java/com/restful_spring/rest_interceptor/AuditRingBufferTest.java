@@ -0,0 +1,105 @@
+package com.restful_spring.rest_interceptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class AuditRingBufferTest {
+
+    private static AuditRecord record(long timestamp) {
+        return new AuditRecord(timestamp, "GET", "/foo", "/foo", 200, 0);
+    }
+
+    @Test
+    void capacityRoundedUpToPowerOfTwo() {
+        // Given
+        AuditRingBuffer buffer = new AuditRingBuffer(5);
+
+        // When
+        int actual = buffer.capacity();
+
+        // Then
+        assertThat(actual).isEqualTo(8);
+    }
+
+    @Test
+    void offerFailsWhenFull() {
+        // Given
+        AuditRingBuffer buffer = new AuditRingBuffer(2);
+
+        // When
+        boolean first = buffer.offer(record(1));
+        boolean second = buffer.offer(record(2));
+        boolean third = buffer.offer(record(3));
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        assertThat(third).isFalse();
+    }
+
+    @Test
+    void pollInOfferOrder() {
+        // Given
+        AuditRingBuffer buffer = new AuditRingBuffer(2);
+        List<Long> actual = new ArrayList<>();
+
+        // When
+        for (long i = 0; i < 5; i++) {
+            buffer.offer(record(i));
+            actual.add(buffer.poll().timestamp());
+        }
+
+        // Then
+        assertThat(actual).containsExactly(0L, 1L, 2L, 3L, 4L);
+        assertThat(buffer.poll()).isNull();
+    }
+
+    @Test
+    void concurrentProducers() throws InterruptedException {
+        // Given
+        int producers = 4;
+        int perProducer = 10_000;
+        AuditRingBuffer buffer = new AuditRingBuffer(64);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // When
+        for (int p = 0; p < producers; p++) {
+            long base = (long) p * perProducer;
+            executor.submit(() -> {
+                start.await();
+                for (long i = base; i < base + perProducer; i++) {
+                    while (!buffer.offer(record(i))) {
+                        Thread.yield();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        Set<Long> received = new HashSet<>();
+        while (received.size() < producers * perProducer) {
+            AuditRecord record = buffer.poll();
+            if (record == null) {
+                Thread.yield();
+                continue;
+            }
+            received.add(record.timestamp());
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(received).hasSize(producers * perProducer);
+        assertThat(buffer.poll()).isNull();
+    }
+}
@@ -0,0 +1,174 @@
+package com.restful_spring.rest_interceptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.HttpMethod.GET;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class DeadlineInterceptorTest {
+
+    private static final String FOO = "/foo";
+    private static final RestPattern PATTERN = RestPattern.of(FOO, GET);
+    private static final long NOW = 1_700_000_000_000L;
+
+    private DeadlineInterceptor interceptor;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(Instant.ofEpochMilli(NOW), ZoneOffset.UTC);
+        interceptor = new DeadlineInterceptor(
+                request -> DeadlineInterceptor.parseArrivalTime(request.getHeader("X-Request-Start")), clock);
+        interceptor.budget(PATTERN, Duration.ofMillis(100));
+        interceptor.restPatterns = RestPatterns.from(List.of(PATTERN));
+
+        request = new MockHttpServletRequest(GET.name(), FOO);
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void rejectRequestPastBudget() {
+        // Given
+        request.addHeader("X-Request-Start", "t=" + (NOW - 150));
+
+        // When
+        boolean actual = interceptor.preHandle(request, response, new Object());
+
+        // Then
+        assertThat(actual).isFalse();
+        assertThat(response.getStatus()).isEqualTo(503);
+    }
+
+    @Test
+    void publishDeadlineWithinBudget() {
+        // Given
+        request.addHeader("X-Request-Start", "t=" + (NOW - 30));
+
+        // When
+        boolean actual = interceptor.preHandle(request, response, new Object());
+
+        // Then
+        assertThat(actual).isTrue();
+        assertThat(request.getAttribute(DeadlineInterceptor.DEADLINE_ATTRIBUTE))
+                .isEqualTo(Instant.ofEpochMilli(NOW + 70));
+    }
+
+    @Test
+    void measureRemainingWithInterceptorClock() {
+        // Given
+        request.addHeader("X-Request-Start", "t=" + (NOW - 30));
+        interceptor.preHandle(request, response, new Object());
+
+        // When
+        Duration actual = DeadlineInterceptor.remaining(request).orElseThrow();
+
+        // Then
+        assertThat(actual).isEqualTo(Duration.ofMillis(70));
+    }
+
+    @Test
+    void roundUpSubMillisecondBudget() {
+        // Given
+        interceptor.budget(PATTERN, Duration.ofNanos(1));
+        request.addHeader("X-Request-Start", "t=" + NOW);
+
+        // When
+        boolean actual = interceptor.preHandle(request, response, new Object());
+
+        // Then
+        assertThat(actual).isTrue();
+        assertThat(request.getAttribute(DeadlineInterceptor.DEADLINE_ATTRIBUTE))
+                .isEqualTo(Instant.ofEpochMilli(NOW + 1));
+    }
+
+    @Test
+    void applyBudgetWhenBroaderPatternMatchesFirst() {
+        // Given
+        interceptor.restPatterns = RestPatterns.from(List.of(RestPattern.fromPath("/**"), PATTERN));
+        request.addHeader("X-Request-Start", "t=" + (NOW - 150));
+
+        // When
+        boolean actual = interceptor.preHandle(request, response, new Object());
+
+        // Then
+        assertThat(actual).isFalse();
+        assertThat(response.getStatus()).isEqualTo(503);
+    }
+
+    @Test
+    void ignoreImplausiblyOldArrivalTime() {
+        // Given
+        request.addHeader("X-Request-Start", "t=" + (NOW - 100 * DeadlineInterceptor.STALE_ARRIVAL_FACTOR - 1));
+
+        // When
+        boolean actual = interceptor.preHandle(request, response, new Object());
+
+        // Then
+        assertThat(actual).isTrue();
+        assertThat(request.getAttribute(DeadlineInterceptor.DEADLINE_ATTRIBUTE)).isNull();
+    }
+
+    @Test
+    void applyBudgetDeclaredFirst() {
+        // Given
+        interceptor.budget(RestPattern.of("/f*", GET), Duration.ofMillis(1_000));
+        interceptor.restPatterns = RestPatterns.from(List.of(RestPattern.fromPath("/**")));
+        request.addHeader("X-Request-Start", "t=" + (NOW - 150));
+
+        // When
+        boolean actual = interceptor.preHandle(request, response, new Object());
+
+        // Then
+        assertThat(actual).isFalse();
+    }
+
+    @Test
+    void passWithoutArrivalHeader() {
+        // When
+        boolean actual = interceptor.preHandle(request, response, new Object());
+
+        // Then
+        assertThat(actual).isTrue();
+        assertThat(request.getAttribute(DeadlineInterceptor.DEADLINE_ATTRIBUTE)).isNull();
+    }
+
+    @Test
+    void passWithoutBudget() {
+        // Given
+        RestPattern other = RestPattern.of("/bar", GET);
+        interceptor.restPatterns = RestPatterns.from(List.of(PATTERN, other));
+        MockHttpServletRequest otherRequest = new MockHttpServletRequest(GET.name(), "/bar");
+        otherRequest.addHeader("X-Request-Start", "t=" + (NOW - 10_000));
+
+        // When
+        boolean actual = interceptor.preHandle(otherRequest, response, new Object());
+
+        // Then
+        assertThat(actual).isTrue();
+    }
+
+    @Test
+    void parseArrivalTimeUnits() {
+        assertThat(DeadlineInterceptor.parseArrivalTime("t=1700000000123")).isEqualTo(1_700_000_000_123L);
+        assertThat(DeadlineInterceptor.parseArrivalTime("t=1700000000123456")).isEqualTo(1_700_000_000_123L);
+        assertThat(DeadlineInterceptor.parseArrivalTime("1700000000123456789")).isEqualTo(1_700_000_000_123L);
+        assertThat(DeadlineInterceptor.parseArrivalTime("t=1700000000.123")).isEqualTo(1_700_000_000_123L);
+        assertThat(DeadlineInterceptor.parseArrivalTime("1700000000")).isEqualTo(1_700_000_000_000L);
+    }
+
+    @Test
+    void parseMalformedArrivalTime() {
+        assertThat(DeadlineInterceptor.parseArrivalTime(null)).isNegative();
+        assertThat(DeadlineInterceptor.parseArrivalTime("soon")).isNegative();
+        assertThat(DeadlineInterceptor.parseArrivalTime("t=NaN")).isNegative();
+    }
+}
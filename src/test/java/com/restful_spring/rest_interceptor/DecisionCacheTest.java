@@ -0,0 +1,299 @@
+package com.restful_spring.rest_interceptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.http.HttpMethod.GET;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class DecisionCacheTest {
+
+    private static final String AUTHORIZATION = "Authorization";
+    private static final RestPattern PATTERN = RestPattern.of("/memos", GET);
+    private static final RestPattern OTHER_PATTERN = RestPattern.of("/users", GET);
+
+    private final AtomicInteger evaluations = new AtomicInteger();
+
+    private static DecisionCache.DecisionCacheBuilder builder() {
+        return DecisionCache.builder().keyExtractor(request -> request.getHeader(AUTHORIZATION));
+    }
+
+    private static MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest(GET.name(), "/memos");
+        if (token != null) {
+            request.addHeader(AUTHORIZATION, token);
+        }
+        return request;
+    }
+
+    private boolean decide(DecisionCache cache, String token, RestPattern pattern, boolean outcome) {
+        return cache.decide(request(token), new MockHttpServletResponse(), pattern, () -> {
+            evaluations.incrementAndGet();
+            return outcome;
+        });
+    }
+
+    @Test
+    void cachePositiveOutcome() {
+        // Given
+        DecisionCache cache = builder().build();
+
+        // When
+        decide(cache, "token", PATTERN, true);
+        boolean actual = decide(cache, "token", PATTERN, false);
+
+        // Then
+        assertThat(actual).isTrue();
+        assertThat(evaluations.get()).isEqualTo(1);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    void keyIncludesPattern() {
+        // Given
+        DecisionCache cache = builder().build();
+
+        // When
+        decide(cache, "token", PATTERN, true);
+        boolean actual = decide(cache, "token", OTHER_PATTERN, false);
+
+        // Then
+        assertThat(actual).isFalse();
+        assertThat(evaluations.get()).isEqualTo(2);
+    }
+
+    @Test
+    void bypassWithoutKey() {
+        // Given
+        DecisionCache cache = builder().build();
+
+        // When
+        decide(cache, null, PATTERN, true);
+        decide(cache, null, PATTERN, true);
+
+        // Then
+        assertThat(evaluations.get()).isEqualTo(2);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void replayStatusOfNegativeOutcome() {
+        // Given
+        DecisionCache cache = builder().negativeTtl(Duration.ofSeconds(5)).build();
+        MockHttpServletResponse firstResponse = new MockHttpServletResponse();
+        cache.decide(request("token"), firstResponse, PATTERN, () -> {
+            evaluations.incrementAndGet();
+            firstResponse.setStatus(401);
+            return false;
+        });
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        boolean actual = cache.decide(request("token"), response, PATTERN, () -> true);
+
+        // Then
+        assertThat(actual).isFalse();
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(evaluations.get()).isEqualTo(1);
+    }
+
+    @Test
+    void skipNegativeOutcomeByDefault() {
+        // Given
+        DecisionCache cache = builder().build();
+
+        // When
+        decide(cache, "token", PATTERN, false);
+        boolean actual = decide(cache, "token", PATTERN, true);
+
+        // Then
+        assertThat(actual).isTrue();
+        assertThat(evaluations.get()).isEqualTo(2);
+    }
+
+    @Test
+    void expireAfterTtl() throws InterruptedException {
+        // Given
+        DecisionCache cache = builder().ttl(Duration.ofMillis(1)).build();
+
+        // When
+        decide(cache, "token", PATTERN, true);
+        Thread.sleep(5);
+        decide(cache, "token", PATTERN, true);
+
+        // Then
+        assertThat(evaluations.get()).isEqualTo(2);
+    }
+
+    @Test
+    void boundedSize() {
+        // Given
+        DecisionCache cache = builder().maximumSize(10).build();
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            decide(cache, "token" + i, PATTERN, true);
+        }
+
+        // Then
+        assertThat(cache.size()).isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    void keepLoadingEntriesOnEviction() throws Exception {
+        // Given
+        DecisionCache cache = builder().maximumSize(1).build();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<Boolean> leader = executor.submit(() ->
+                cache.decide(request("token"), new MockHttpServletResponse(), PATTERN, () -> {
+                    evaluations.incrementAndGet();
+                    loading.countDown();
+                    await(release);
+                    return true;
+                }));
+        loading.await();
+
+        // When
+        decide(cache, "other", PATTERN, true);
+        release.countDown();
+        leader.get(5, TimeUnit.SECONDS);
+        boolean actual = decide(cache, "token", PATTERN, false);
+
+        // Then
+        assertThat(actual).isTrue();
+        assertThat(evaluations.get()).isEqualTo(2);
+        executor.shutdownNow();
+    }
+
+    @Test
+    void propagateExceptionWithoutCaching() {
+        // Given
+        DecisionCache cache = builder().build();
+
+        // When & Then
+        assertThatThrownBy(() -> cache.decide(request("token"), new MockHttpServletResponse(), PATTERN, () -> {
+            throw new IllegalStateException("introspection failed");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void singleFlight() throws Exception {
+        // Given
+        DecisionCache cache = builder().build();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // When
+        Future<Boolean> leader = executor.submit(() ->
+                cache.decide(request("token"), new MockHttpServletResponse(), PATTERN, () -> {
+                    evaluations.incrementAndGet();
+                    loading.countDown();
+                    await(release);
+                    return true;
+                }));
+        loading.await();
+        List<Future<Boolean>> followers = List.of(
+                executor.submit(() -> decide(cache, "token", PATTERN, false)),
+                executor.submit(() -> decide(cache, "token", PATTERN, false))
+        );
+        Thread.sleep(50);
+        release.countDown();
+
+        // Then
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isTrue();
+        for (Future<Boolean> follower : followers) {
+            assertThat(follower.get(5, TimeUnit.SECONDS)).isTrue();
+        }
+        assertThat(evaluations.get()).isEqualTo(1);
+        executor.shutdownNow();
+    }
+
+    @Test
+    void evaluateWaitersOfUncachedNegativeOutcome() throws Exception {
+        // Given
+        DecisionCache cache = builder().build();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        Future<Boolean> leader = executor.submit(() ->
+                cache.decide(request("token"), new MockHttpServletResponse(), PATTERN, () -> {
+                    evaluations.incrementAndGet();
+                    loading.countDown();
+                    await(release);
+                    return false;
+                }));
+        loading.await();
+
+        // When
+        List<MockHttpServletResponse> responses = List.of(new MockHttpServletResponse(),
+                new MockHttpServletResponse());
+        List<Future<Boolean>> followers = responses.stream()
+                .map(response -> executor.submit(() -> cache.decide(request("token"), response, PATTERN, () -> {
+                    evaluations.incrementAndGet();
+                    response.setStatus(401);
+                    response.setHeader("WWW-Authenticate", "Bearer");
+                    return false;
+                })))
+                .toList();
+        Thread.sleep(50);
+        release.countDown();
+
+        // Then
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isFalse();
+        for (Future<Boolean> follower : followers) {
+            assertThat(follower.get(5, TimeUnit.SECONDS)).isFalse();
+        }
+        for (MockHttpServletResponse response : responses) {
+            assertThat(response.getStatus()).isEqualTo(401);
+            assertThat(response.getHeader("WWW-Authenticate")).isEqualTo("Bearer");
+        }
+        assertThat(evaluations.get()).isEqualTo(3);
+        executor.shutdownNow();
+    }
+
+    @Test
+    void skipDoInternalForCachedRequest() {
+        // Given
+        RestInterceptor interceptor = new RestInterceptor() {
+            @Override
+            protected boolean doInternal(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                evaluations.incrementAndGet();
+                return true;
+            }
+        };
+        interceptor.restPatterns = RestPatterns.from(List.of(PATTERN));
+        interceptor.setDecisionCache(builder().build());
+
+        // When
+        interceptor.preHandle(request("token"), new MockHttpServletResponse(), new Object());
+        interceptor.preHandle(request("token"), new MockHttpServletResponse(), new Object());
+
+        // Then
+        assertThat(evaluations.get()).isEqualTo(1);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
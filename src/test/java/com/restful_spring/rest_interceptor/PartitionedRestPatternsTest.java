@@ -0,0 +1,159 @@
+package com.restful_spring.rest_interceptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.http.HttpMethod.GET;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class PartitionedRestPatternsTest {
+
+    private static final RestPattern ACME_ORDERS = RestPattern.of("/t/acme/orders/**", GET);
+    private static final RestPattern GLOBEX_ORDERS = RestPattern.of("/t/globex/orders/**", GET);
+
+    private static MockHttpServletRequest request(String path) {
+        return new MockHttpServletRequest(GET.name(), path);
+    }
+
+    private static RestPattern findMatch(PartitionedRestPatterns patterns, MockHttpServletRequest request) {
+        String key = patterns.resolveKey(request);
+        return key == null ? null : patterns.findMatch(key, request);
+    }
+
+    @Test
+    void matchWithinPartition() {
+        // Given
+        PartitionedRestPatterns patterns = new PartitionedRestPatterns(PartitionKeyResolver.pathSegment("/t"));
+        patterns.add("acme", RestPatterns.from(List.of(ACME_ORDERS)));
+        patterns.add("globex", RestPatterns.from(List.of(GLOBEX_ORDERS)));
+
+        // When
+        RestPattern actual = findMatch(patterns, request("/t/acme/orders/1"));
+
+        // Then
+        assertThat(actual).isEqualTo(ACME_ORDERS);
+        assertThat(findMatch(patterns, request("/t/initech/orders/1"))).isNull();
+        assertThat(findMatch(patterns, request("/orders/1"))).isNull();
+    }
+
+    @Test
+    void addKeepsExistingPatterns() {
+        // Given
+        RestPattern acmeUsers = RestPattern.of("/t/acme/users/**", GET);
+        PartitionedRestPatterns patterns = new PartitionedRestPatterns(PartitionKeyResolver.pathSegment("/t/"));
+        patterns.add("acme", RestPatterns.from(List.of(ACME_ORDERS)));
+
+        // When
+        patterns.add("acme", RestPatterns.from(List.of(acmeUsers)));
+
+        // Then
+        assertThat(findMatch(patterns, request("/t/acme/orders/1"))).isEqualTo(ACME_ORDERS);
+        assertThat(findMatch(patterns, request("/t/acme/users/1"))).isEqualTo(acmeUsers);
+    }
+
+    @Test
+    void replaceOnlyAffectsOnePartition() {
+        // Given
+        RestPattern acmeUsers = RestPattern.of("/t/acme/users/**", GET);
+        PartitionedRestPatterns patterns = new PartitionedRestPatterns(PartitionKeyResolver.pathSegment("/t/"));
+        patterns.add("acme", RestPatterns.from(List.of(ACME_ORDERS)));
+        patterns.add("globex", RestPatterns.from(List.of(GLOBEX_ORDERS)));
+
+        // When
+        patterns.replace("acme", RestPatterns.from(List.of(acmeUsers)));
+
+        // Then
+        assertThat(findMatch(patterns, request("/t/acme/orders/1"))).isNull();
+        assertThat(findMatch(patterns, request("/t/acme/users/1"))).isEqualTo(acmeUsers);
+        assertThat(findMatch(patterns, request("/t/globex/orders/1"))).isEqualTo(GLOBEX_ORDERS);
+    }
+
+    @Test
+    void remove() {
+        // Given
+        PartitionedRestPatterns patterns = new PartitionedRestPatterns(PartitionKeyResolver.pathSegment("/t/"));
+        patterns.add("acme", RestPatterns.from(List.of(ACME_ORDERS)));
+
+        // When
+        patterns.remove("acme");
+
+        // Then
+        assertThat(patterns.size()).isZero();
+        assertThat(findMatch(patterns, request("/t/acme/orders/1"))).isNull();
+    }
+
+    @Test
+    void resolveHost() {
+        // Given
+        MockHttpServletRequest request = request("/orders");
+        request.setServerName("Acme.Example.com");
+
+        // When
+        String actual = PartitionKeyResolver.host().resolve(request);
+
+        // Then
+        assertThat(actual).isEqualTo("acme.example.com");
+    }
+
+    @Test
+    void resolvePathSegment() {
+        PartitionKeyResolver resolver = PartitionKeyResolver.pathSegment("/t/");
+
+        assertThat(resolver.resolve(request("/t/acme/orders"))).isEqualTo("acme");
+        assertThat(resolver.resolve(request("/t/acme"))).isEqualTo("acme");
+        assertThat(resolver.resolve(request("/t/"))).isNull();
+        assertThat(resolver.resolve(request("/tenants/acme"))).isNull();
+    }
+
+    @Test
+    void interceptorMatchesPartitionBeforeSharedPatterns() {
+        // Given
+        RestPattern sharedOrders = RestPattern.of("/t/*/orders/**", GET);
+        RestInterceptor interceptor = new RestInterceptor() {
+        };
+        interceptor.restPatterns = RestPatterns.from(List.of(sharedOrders));
+        interceptor.partitionBy(PartitionKeyResolver.pathSegment("/t/"));
+        interceptor.getPartitionedPatterns().add("acme", RestPatterns.from(List.of(ACME_ORDERS)));
+        MockHttpServletRequest acmeRequest = request("/t/acme/orders/1");
+        MockHttpServletRequest globexRequest = request("/t/globex/orders/1");
+
+        // When
+        interceptor.preHandle(acmeRequest, new MockHttpServletResponse(), new Object());
+        interceptor.preHandle(globexRequest, new MockHttpServletResponse(), new Object());
+
+        // Then
+        assertThat(interceptor.getMatchedPattern(acmeRequest)).isEqualTo(ACME_ORDERS);
+        assertThat(interceptor.getMatchedPattern(globexRequest)).isEqualTo(sharedOrders);
+    }
+
+    @Test
+    void interceptorMatchesSharedPatternsWithoutPartitionKey() {
+        // Given
+        RestPattern sharedAdmin = RestPattern.of("/admin/**", GET);
+        RestInterceptor interceptor = new RestInterceptor() {
+        };
+        interceptor.restPatterns = RestPatterns.from(List.of(sharedAdmin));
+        interceptor.partitionBy(PartitionKeyResolver.pathSegment("/t/"));
+        interceptor.getPartitionedPatterns().add("acme", RestPatterns.from(List.of(ACME_ORDERS)));
+        MockHttpServletRequest adminRequest = request("/admin/users");
+
+        // When
+        interceptor.preHandle(adminRequest, new MockHttpServletResponse(), new Object());
+
+        // Then
+        assertThat(interceptor.getMatchedPattern(adminRequest)).isEqualTo(sharedAdmin);
+    }
+
+    @Test
+    void requirePartitionBy() {
+        // Given
+        RestInterceptor interceptor = new RestInterceptor() {
+        };
+
+        // When & Then
+        assertThatThrownBy(interceptor::getPartitionedPatterns).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -8,11 +8,13 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpMethod;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.ModelAndView;
 
 class RestInterceptorTest {
 
@@ -21,6 +23,8 @@ class RestInterceptorTest {
     private static final RestPattern REGISTRATION_PATTERN = RestPattern.of(FOO, GET);
     private static final RestPattern EXCLUSION_PATTERN = RestPattern.of(BAR, POST);
     private final AtomicBoolean doInternalCalled = new AtomicBoolean(false);
+    private final AtomicBoolean doPostHandleCalled = new AtomicBoolean(false);
+    private final AtomicBoolean doAfterCompletionCalled = new AtomicBoolean(false);
     private RestInterceptor interceptor;
     private MockHttpServletRequest request;
     private MockHttpServletResponse response;
@@ -28,12 +32,26 @@ class RestInterceptorTest {
     @BeforeEach
     void setUp() {
         doInternalCalled.set(false);
+        doPostHandleCalled.set(false);
+        doAfterCompletionCalled.set(false);
         interceptor = new RestInterceptor() {
             @Override
             protected boolean doInternal(HttpServletRequest request, HttpServletResponse response, Object handler) {
                 doInternalCalled.set(true);
                 return true;
             }
+
+            @Override
+            protected void doPostHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                        ModelAndView modelAndView) {
+                doPostHandleCalled.set(true);
+            }
+
+            @Override
+            protected void doAfterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                             Object handler, Exception ex) {
+                doAfterCompletionCalled.set(true);
+            }
         };
 
         request = new MockHttpServletRequest();
@@ -150,4 +168,86 @@ class RestInterceptorTest {
         // Then
         assertThat(doInternalCalled.get()).isTrue();
     }
+
+    @Test
+    void lifecycleHooksCalledForMatchingRequest() {
+        // Given
+        interceptor.restPatterns = RestPatterns.from(List.of(REGISTRATION_PATTERN));
+
+        // When
+        request.setRequestURI(FOO);
+        request.setMethod(GET.name());
+        interceptor.preHandle(request, response, new Object());
+        interceptor.postHandle(request, response, new Object(), null);
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        // Then
+        assertThat(interceptor.getMatchedPattern(request)).isEqualTo(REGISTRATION_PATTERN);
+        assertThat(doPostHandleCalled.get()).isTrue();
+        assertThat(doAfterCompletionCalled.get()).isTrue();
+    }
+
+    @Test
+    void lifecycleHooksNotCalledForNonMatchingRequest() {
+        // Given
+        interceptor.restPatterns = RestPatterns.from(List.of(REGISTRATION_PATTERN));
+
+        // When
+        request.setRequestURI(BAR);
+        request.setMethod(GET.name());
+        interceptor.preHandle(request, response, new Object());
+        interceptor.postHandle(request, response, new Object(), null);
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        // Then
+        assertThat(interceptor.getMatchedPattern(request)).isNull();
+        assertThat(doPostHandleCalled.get()).isFalse();
+        assertThat(doAfterCompletionCalled.get()).isFalse();
+    }
+
+    @Test
+    void matchedPatternIsScopedToInterceptor() {
+        // Given
+        interceptor.restPatterns = RestPatterns.from(List.of(REGISTRATION_PATTERN));
+        RestInterceptor other = new RestInterceptor() {
+        };
+        other.restPatterns = RestPatterns.from(List.of(EXCLUSION_PATTERN));
+
+        // When
+        request.setRequestURI(FOO);
+        request.setMethod(GET.name());
+        interceptor.preHandle(request, response, new Object());
+        other.preHandle(request, response, new Object());
+
+        // Then
+        assertThat(interceptor.getMatchedPattern(request)).isEqualTo(REGISTRATION_PATTERN);
+        assertThat(other.getMatchedPattern(request)).isNull();
+    }
+
+    @Test
+    void doInternalReceivesMatch() {
+        // Given
+        RestPattern pattern = RestPattern.of("/users/{userId}/memos/{memoId}", GET);
+        AtomicReference<RestMatch> received = new AtomicReference<>();
+        RestInterceptor matchInterceptor = new RestInterceptor() {
+            @Override
+            protected boolean doInternal(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                         RestMatch match) {
+                received.set(match);
+                return true;
+            }
+        };
+        matchInterceptor.restPatterns = RestPatterns.from(List.of(pattern));
+
+        // When
+        request.setRequestURI("/users/42/memos/7");
+        request.setMethod(GET.name());
+        matchInterceptor.preHandle(request, response, new Object());
+
+        // Then
+        assertThat(received.get().getPattern()).isEqualTo(pattern);
+        assertThat(received.get().getVariable("userId")).isEqualTo("42");
+        assertThat(received.get().getVariables()).containsEntry("memoId", "7").hasSize(2);
+        assertThat(matchInterceptor.getMatch(request)).isSameAs(received.get());
+    }
 }
@@ -0,0 +1,133 @@
+package com.restful_spring.rest_interceptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.http.HttpMethod.DELETE;
+import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.HttpMethod.POST;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+class RestPatternImporterTest {
+
+    private static final String OPEN_API = """
+            {
+              "openapi": "3.0.1",
+              "info": {"title": "memos", "version": "1"},
+              "paths": {
+                "/memos": {
+                  "parameters": [{"name": "page", "in": "query"}],
+                  "get": {"tags": ["public"], "responses": {"200": {"description": "ok"}}},
+                  "post": {"tags": ["secured", "memos"], "requestBody": {"content": {}}}
+                },
+                "/memos/{id}": {
+                  "summary": "memo",
+                  "delete": {"tags": ["secured"]},
+                  "x-internal": {"tags": ["secured"]}
+                }
+              },
+              "components": {"schemas": {}}
+            }
+            """;
+
+    private static final String MANIFEST = """
+            # method path tags
+            GET       /memos          public
+            POST,PUT  /memos/:id      secured,memos
+
+            DELETE    /admin/:id      secured
+            *         /health
+            """;
+
+    private static Resource resource(String content) {
+        return new ByteArrayResource(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static boolean matches(RestPatterns patterns, String method, String path) {
+        return patterns.anyMatches(new MockHttpServletRequest(method, path));
+    }
+
+    @Test
+    void importOpenApi() {
+        // When
+        RestPatterns patterns = RestPatternImporter.openApi(resource(OPEN_API)).importPatterns();
+
+        // Then
+        assertThat(patterns.getPaths()).containsExactly("/memos", "/memos/{id}");
+        assertThat(matches(patterns, GET.name(), "/memos")).isTrue();
+        assertThat(matches(patterns, POST.name(), "/memos")).isTrue();
+        assertThat(matches(patterns, DELETE.name(), "/memos/1")).isTrue();
+        assertThat(matches(patterns, GET.name(), "/memos/1")).isFalse();
+    }
+
+    @Test
+    void importOpenApiByTag() {
+        // When
+        RestPatterns patterns = RestPatternImporter.openApi(resource(OPEN_API))
+                .tags("secured")
+                .importPatterns();
+
+        // Then
+        assertThat(matches(patterns, GET.name(), "/memos")).isFalse();
+        assertThat(matches(patterns, POST.name(), "/memos")).isTrue();
+        assertThat(matches(patterns, DELETE.name(), "/memos/1")).isTrue();
+    }
+
+    @Test
+    void importOpenApiWithBasePath() {
+        // When
+        RestPatterns patterns = RestPatternImporter.openApi(resource(OPEN_API))
+                .basePath("/api/")
+                .importPatterns();
+
+        // Then
+        assertThat(patterns.getPaths()).containsExactly("/api/memos", "/api/memos/{id}");
+    }
+
+    @Test
+    void importManifest() {
+        // When
+        RestPatterns patterns = RestPatternImporter.manifest(resource(MANIFEST)).importPatterns();
+
+        // Then
+        assertThat(patterns.getPaths()).containsExactly("/memos", "/memos/{id}", "/admin/{id}", "/health");
+        assertThat(matches(patterns, "PUT", "/memos/1")).isTrue();
+        assertThat(matches(patterns, DELETE.name(), "/health")).isTrue();
+        assertThat(matches(patterns, GET.name(), "/admin/1")).isFalse();
+    }
+
+    @Test
+    void importManifestByTagAndPath() {
+        // When
+        RestPatterns patterns = RestPatternImporter.manifest(resource(MANIFEST))
+                .tags("secured")
+                .paths("/memos/**")
+                .importPatterns();
+
+        // Then
+        assertThat(patterns.getPaths()).containsExactly("/memos/{id}");
+    }
+
+    @Test
+    void rejectUnknownMethod() {
+        // Given
+        RestPatternImporter importer = RestPatternImporter.manifest(resource("FETCH /memos"));
+
+        // When & Then
+        assertThatThrownBy(importer::importPatterns)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("line 1");
+    }
+
+    @Test
+    void convertTemplate() {
+        assertThat(RestPatternImporter.convertTemplate("/users/:userId/memos/:id"))
+                .isEqualTo("/users/{userId}/memos/{id}");
+        assertThat(RestPatternImporter.convertTemplate("/items:batchGet")).isEqualTo("/items:batchGet");
+        assertThat(RestPatternImporter.convertTemplate("/users/{userId}")).isEqualTo("/users/{userId}");
+    }
+}
@@ -13,6 +13,7 @@ import static org.springframework.http.HttpMethod.TRACE;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpMethod;
@@ -179,5 +180,28 @@ class RestPatternTest {
         assertTrue(pattern.matches(new MockHttpServletRequest(OPTIONS.name(), FOO)));
         assertTrue(pattern.matches(new MockHttpServletRequest(HEAD.name(), FOO)));
     }
-}
 
+    @Test
+    void extractVariables() {
+        // Given
+        RestPattern pattern = RestPattern.of(FOO + "/{id}" + BAR + "/{name}", GET);
+
+        // When
+        Map<String, String> actual = pattern.extractVariables(FOO + "/123" + BAR + "/baz");
+
+        // Then
+        assertThat(actual).containsExactlyInAnyOrderEntriesOf(Map.of("id", "123", "name", "baz"));
+    }
+
+    @Test
+    void extractVariablesWithoutTemplate() {
+        // Given
+        RestPattern pattern = RestPattern.of(FOO + ALL, GET);
+
+        // When
+        Map<String, String> actual = pattern.extractVariables(FOO + BAR);
+
+        // Then
+        assertThat(actual).isEmpty();
+    }
+}
@@ -53,6 +53,23 @@ class RestPatternsTest {
         assertThat(patterns.noneMatches(request3)).isTrue();
     }
 
+    @Test
+    void findMatch() {
+
+        // Given
+        RestPattern pattern1 = RestPattern.of("/foo/**", HttpMethod.GET);
+        RestPattern pattern2 = RestPattern.of("/foo/bar", HttpMethod.GET);
+        RestPatterns patterns = RestPatterns.from(List.of(pattern1, pattern2));
+
+        // When
+        MockHttpServletRequest request1 = new MockHttpServletRequest(HttpMethod.GET.name(), "/foo/bar");
+        MockHttpServletRequest request2 = new MockHttpServletRequest(HttpMethod.POST.name(), "/foo/bar");
+
+        // Then
+        assertThat(patterns.findMatch(request1)).isEqualTo(pattern1);
+        assertThat(patterns.findMatch(request2)).isNull();
+    }
+
     @Test
     void addAll() {
 
@@ -83,4 +100,19 @@ class RestPatternsTest {
         // Then
         assertThat(actual).containsExactlyInAnyOrder("/foo", "/bar");
     }
+
+    @Test
+    void getPathsWithoutDuplicates() {
+
+        // Given
+        RestPattern pattern1 = RestPattern.of("/foo", HttpMethod.GET);
+        RestPattern pattern2 = RestPattern.of("/foo", HttpMethod.POST);
+        RestPatterns patterns = RestPatterns.from(List.of(pattern1, pattern2));
+
+        // When
+        List<String> actual = patterns.getPaths();
+
+        // Then
+        assertThat(actual).containsExactly("/foo");
+    }
 }
@@ -0,0 +1,174 @@
+package com.restful_spring.rest_interceptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.HttpMethod.POST;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class ShadowEvaluationTest {
+
+    private static final RestPattern LIVE_PATTERN = RestPattern.of("/memos", GET);
+    private static final RestPattern CANDIDATE_PATTERN = RestPattern.of("/memos", GET, POST);
+
+    private final AtomicInteger doInternalCalls = new AtomicInteger();
+    private RestInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        doInternalCalls.set(0);
+        interceptor = new RestInterceptor() {
+            @Override
+            protected boolean doInternal(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                doInternalCalls.incrementAndGet();
+                return true;
+            }
+        };
+        interceptor.restPatterns = RestPatterns.from(List.of(LIVE_PATTERN));
+    }
+
+    private void handle(String method, String path) {
+        interceptor.preHandle(new MockHttpServletRequest(method, path), new MockHttpServletResponse(), new Object());
+    }
+
+    @Test
+    void recordDivergence() {
+        // Given
+        ShadowEvaluation shadow = ShadowEvaluation.builder()
+                .addRestPatterns(CANDIDATE_PATTERN)
+                .sampleRate(1)
+                .cpuBudget(Duration.ofSeconds(1))
+                .build();
+        interceptor.setShadowEvaluation(shadow);
+
+        // When
+        handle(GET.name(), "/memos");
+        handle(POST.name(), "/memos");
+
+        // Then
+        assertThat(shadow.getSampledCount()).isEqualTo(2);
+        assertThat(shadow.getDivergenceCount()).isEqualTo(1);
+        ShadowDivergence divergence = shadow.getDivergences().get(0);
+        assertThat(divergence.method()).isEqualTo(POST.name());
+        assertThat(divergence.live()).isFalse();
+        assertThat(divergence.candidate()).isTrue();
+    }
+
+    @Test
+    void candidateDoesNotAffectLiveVerdict() {
+        // Given
+        interceptor.setShadowEvaluation(ShadowEvaluation.builder()
+                .addRestPatterns(CANDIDATE_PATTERN)
+                .sampleRate(1)
+                .build());
+
+        // When
+        handle(POST.name(), "/memos");
+
+        // Then
+        assertThat(doInternalCalls.get()).isZero();
+    }
+
+    @Test
+    void candidateExclusion() {
+        // Given
+        ShadowEvaluation shadow = ShadowEvaluation.builder()
+                .addRestPatterns(LIVE_PATTERN)
+                .excludeRestPatterns(LIVE_PATTERN)
+                .sampleRate(1)
+                .cpuBudget(Duration.ofSeconds(1))
+                .build();
+        interceptor.setShadowEvaluation(shadow);
+
+        // When
+        handle(GET.name(), "/memos");
+
+        // Then
+        assertThat(shadow.getDivergences()).singleElement()
+                .satisfies(divergence -> assertThat(divergence.candidate()).isFalse());
+    }
+
+    @Test
+    void keepMostRecentDivergences() {
+        // Given
+        ShadowEvaluation shadow = ShadowEvaluation.builder()
+                .addRestPatterns(RestPattern.fromPath("/**"))
+                .sampleRate(1)
+                .cpuBudget(Duration.ofSeconds(1))
+                .capacity(2)
+                .build();
+        interceptor.setShadowEvaluation(shadow);
+
+        // When
+        handle(GET.name(), "/a");
+        handle(GET.name(), "/b");
+        handle(GET.name(), "/c");
+
+        // Then
+        assertThat(shadow.getDivergenceCount()).isEqualTo(3);
+        assertThat(shadow.getDivergences()).extracting(ShadowDivergence::path).containsExactly("/b", "/c");
+    }
+
+    @Test
+    void skipUnsampledRequests() {
+        // Given
+        ShadowEvaluation shadow = ShadowEvaluation.builder()
+                .addRestPatterns(CANDIDATE_PATTERN)
+                .sampleRate(0)
+                .build();
+        interceptor.setShadowEvaluation(shadow);
+
+        // When
+        handle(POST.name(), "/memos");
+
+        // Then
+        assertThat(shadow.getSampledCount()).isZero();
+        assertThat(shadow.getDivergences()).isEmpty();
+    }
+
+    @Test
+    void skipWhenBudgetExhausted() {
+        // Given
+        ShadowEvaluation shadow = ShadowEvaluation.builder()
+                .addRestPatterns(CANDIDATE_PATTERN)
+                .sampleRate(1)
+                .cpuBudget(Duration.ZERO)
+                .build();
+        interceptor.setShadowEvaluation(shadow);
+
+        // When
+        handle(POST.name(), "/memos");
+
+        // Then
+        assertThat(shadow.getSampledCount()).isZero();
+        assertThat(shadow.getSkippedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void stopEvaluatingWhenDetached() {
+        // Given
+        ShadowEvaluation shadow = ShadowEvaluation.builder()
+                .addRestPatterns(CANDIDATE_PATTERN)
+                .sampleRate(1)
+                .cpuBudget(Duration.ofSeconds(1))
+                .build();
+        interceptor.setShadowEvaluation(shadow);
+        handle(POST.name(), "/memos");
+
+        // When
+        interceptor.setShadowEvaluation(null);
+        handle(POST.name(), "/memos");
+
+        // Then
+        assertThat(shadow.getSampledCount()).isEqualTo(1);
+        assertThat(shadow.getDivergenceCount()).isEqualTo(1);
+    }
+}